@@ -0,0 +1,72 @@
+/*
+ * Copyright © 2020 Miroslav Pokorny
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package test;
+
+
+import com.google.j2cl.junit.apt.J2clTestInput;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Locale;
+
+/**
+ * Measures the time from first touching {@link Locale} to the first getDefault, getAvailableLocales and
+ * forLanguageTag. Each result is printed as a single JSON line prefixed with {@link #PREFIX}, which verify.groovy
+ * collects from the build log into startup-benchmark.jsonl. The locale selection is passed by each module as the
+ * test.StartupBenchmarkSelection.SELECTION define. Allocation is not measurable within the browser and is reported
+ * as -1.
+ */
+@J2clTestInput(StartupBenchmarkTest.class)
+public class StartupBenchmarkTest {
+
+    private final static String PREFIX = "locale-startup-benchmark: ";
+
+    @Test
+    public void testStartup() {
+        final String selection = System.getProperty("test.StartupBenchmarkSelection.SELECTION", ""); // transpiler only accepts String literal
+        Assert.assertNotEquals("selection define missing", "", selection);
+
+        final long start = System.nanoTime();
+
+        final Locale defaultLocale = Locale.getDefault();
+        final long getDefault = System.nanoTime();
+
+        final Locale[] available = Locale.getAvailableLocales();
+        final long getAvailableLocales = System.nanoTime();
+
+        final Locale enAu = Locale.forLanguageTag("EN-AU");
+        final long forLanguageTag = System.nanoTime();
+
+        Assert.assertNotNull(defaultLocale);
+        Assert.assertNotEquals(0, available.length);
+        Assert.assertEquals("en-AU", enAu.toLanguageTag());
+
+        System.out.println(PREFIX +
+                "{\"platform\":\"j2cl\"" +
+                ",\"selection\":\"" + selection + "\"" +
+                ",\"availableLocales\":" + available.length +
+                ",\"steps\":[" +
+                step("getDefault", getDefault - start) + "," +
+                step("getAvailableLocales", getAvailableLocales - getDefault) + "," +
+                step("forLanguageTag", forLanguageTag - getAvailableLocales) +
+                "]}");
+    }
+
+    private static String step(final String name,
+                               final long nanos) {
+        return "{\"name\":\"" + name + "\",\"nanos\":" + nanos + ",\"allocatedBytes\":-1}";
+    }
+}
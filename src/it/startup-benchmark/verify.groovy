@@ -0,0 +1,48 @@
+/*
+ * Copies the JSON lines printed by StartupBenchmarkTest from the build log into startup-benchmark.jsonl, one line per
+ * module, so startup can be tracked across builds. Each module transpiles the test with its own locale selection. The
+ * raw and gzipped size of each compiled test bundle, and whether it still contains the stream emulation, is written to
+ * startup-benchmark-size.jsonl, so bundle size can be tracked the same way.
+ */
+def modules = ["small": "EN*", "all": "*"]
+
+def prefix = "locale-startup-benchmark: "
+def log = new File(basedir, "build.log")
+def results = log.readLines()
+        .findAll { it.contains(prefix) }
+        .collect { it.substring(it.indexOf(prefix) + prefix.length()).trim() }
+
+modules.values().each { selection ->
+    if (!results.any { it.contains("\"selection\":\"" + selection + "\"") }) {
+        throw new IllegalStateException("Missing startup result for selection " + selection + " in " + log)
+    }
+}
+
+new File(basedir, "startup-benchmark.jsonl").text = results.join("\n") + "\n"
+
+def sizes = []
+modules.each { module, selection ->
+    // the closure compiled test bundle includes every transpiled class so it is the largest script, the individual
+    // transpiled sources are much smaller
+    def bundle = null
+    new File(basedir, module + "/target").eachFileRecurse(groovy.io.FileType.FILES) {
+        if (it.name.endsWith(".js") && (null == bundle || it.length() > bundle.length())) {
+            bundle = it
+        }
+    }
+    if (null == bundle) {
+        throw new IllegalStateException("Missing compiled bundle for selection " + selection + " in " + module)
+    }
+
+    def gzip = new ByteArrayOutputStream()
+    new java.util.zip.GZIPOutputStream(gzip).withStream { it.write(bundle.bytes) }
+
+    def text = bundle.text
+    def streams = text.contains("java.util.stream") || text.contains("java\$util\$stream")
+
+    def path = bundle.path.substring(basedir.path.length() + 1).replace('\\', '/')
+    sizes << "{\"selection\":\"" + selection + "\",\"file\":\"" + path + "\",\"bytes\":" + bundle.length() + ",\"gzipBytes\":" + gzip.size() + ",\"streams\":" + streams + "}"
+}
+
+new File(basedir, "startup-benchmark-size.jsonl").text = sizes.join("\n") + "\n"
+return true
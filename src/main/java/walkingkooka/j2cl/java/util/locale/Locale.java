@@ -17,8 +17,10 @@
 
 package walkingkooka.j2cl.java.util.locale;
 
-
 import walkingkooka.j2cl.java.io.string.StringDataInputDataOutput;
+import walkingkooka.j2cl.java.util.locale.support.LocaleDefaults;
+import walkingkooka.j2cl.java.util.locale.support.LocaleEvents;
+import walkingkooka.j2cl.java.util.locale.support.LocaleSupport;
 import walkingkooka.j2cl.locale.LocaleAware;
 import walkingkooka.j2cl.locale.WalkingkookaLanguageTag;
 import walkingkooka.text.CharSequences;
@@ -26,10 +28,12 @@ import walkingkooka.text.CharacterConstant;
 
 import java.io.DataInput;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 /**
  * With some compiler package fixing, this will be the javascript JRE emulated java.util.Locale.
@@ -44,35 +48,153 @@ public final class Locale {
     final static CharacterConstant SEPARATOR = CharacterConstant.with('-');
 
     private static Locale defineConstant(final String language) {
-        return new Locale(language);
+        final Locale locale = new Locale(language);
+        locale.canonical = true;
+        return locale;
     }
 
     /**
      * Lazily transforms the {@link LocaleProvider#DATA} into {@link Locale}.
      */
     public static Locale[] getAvailableLocales() {
-        if (null == AVAILABLE_LOCALES) {
-            AVAILABLE_LOCALES = getAvailableLocales0();
+        final List<Locale> available = availableLocales();
+        return available.toArray(new Locale[available.size()]);
+    }
+
+    /**
+     * Returns the cached available locales, decoding them on the first call. On the JVM a caller arriving while
+     * another thread is decoding waits for the lock rather than decoding again.
+     */
+    private static List<Locale> availableLocales() {
+        List<Locale> available = AVAILABLE_LOCALES;
+        if (null == available) {
+            synchronized (Locale.class) {
+                available = AVAILABLE_LOCALES;
+                if (null == available) {
+                    available = getAvailableLocales0();
+                    AVAILABLE_LOCALES = available;
+                }
+            }
         }
-        return AVAILABLE_LOCALES.toArray(new Locale[AVAILABLE_LOCALES.size()]);
+        return available;
     }
 
+    /**
+     * Decodes the available locales, sharing the constants and recording each in {@link #CANONICAL_LOCALES}.
+     */
     private static List<Locale> getAvailableLocales0() {
+        final LocaleEvents events = LocaleEvents.instance();
+        final Object event = events.decodeBegin();
+
         final DataInput data = StringDataInputDataOutput.input(LocaleProvider.DATA);
+
+        final Collection<WalkingkookaLanguageTag> tags;
         try {
-            return WalkingkookaLanguageTag.decode(data)
-                    .stream()
-                    .map(Locale::new)
-                    .collect(Collectors.toList());
+            tags = WalkingkookaLanguageTag.decode(data);
         } catch (final IOException cause) {
             throw new Error(cause);
         }
+
+        final Map<WalkingkookaLanguageTag, Locale> canonical = new HashMap<>();
+        canonical.put(ROOT.tag, ROOT);
+        canonical.put(UNDEFINED.tag, UNDEFINED);
+
+        final Locale propertyDefaultLocale = Locale.propertyDefaultLocale;
+        if (null != propertyDefaultLocale && null == canonical.putIfAbsent(propertyDefaultLocale.tag, propertyDefaultLocale)) {
+            propertyDefaultLocale.canonical = true;
+        }
+
+        final LocaleSubtagPool subtagPool = LocaleSubtagPool.empty();
+
+        final List<Locale> locales = new ArrayList<>(tags.size());
+        for (final WalkingkookaLanguageTag decoded : tags) {
+            final WalkingkookaLanguageTag tag = subtagPool.intern(decoded);
+
+            Locale locale = canonical.get(tag);
+            if (null == locale) {
+                locale = new Locale(tag);
+                locale.canonical = true;
+                canonical.put(tag, locale);
+            }
+            locales.add(locale);
+        }
+
+        CANONICAL_LOCALES = canonical;
+        LANGUAGE_TAG_LOCALES = languageTagLocales(canonical.values());
+
+        events.decodeEnd(event, locales.size());
+        return locales;
+    }
+
+    /**
+     * Maps the {@link #toLanguageTag()} of each canonical {@link Locale} to itself, skipping any whose language tag
+     * loses components, such as IW which becomes HE, along with any language tag shared by several locales.
+     */
+    private static Map<String, Locale> languageTagLocales(final Collection<Locale> canonical) {
+        final Map<String, Locale> languageTagLocales = new HashMap<>();
+        final List<String> shared = new ArrayList<>();
+
+        for (final Locale locale : canonical) {
+            final String languageTag = locale.toLanguageTag();
+
+            if (languageTag.equals(componentsLanguageTag(locale.tag)) &&
+                    null != languageTagLocales.put(languageTag, locale)) {
+                shared.add(languageTag);
+            }
+        }
+
+        for (final String languageTag : shared) {
+            languageTagLocales.remove(languageTag);
+        }
+
+        return languageTagLocales;
+    }
+
+    /**
+     * Joins the components of the given tag in language tag order, which will only equal {@link #toLanguageTag()} when
+     * parsing it produces the same components.
+     */
+    private static String componentsLanguageTag(final WalkingkookaLanguageTag tag) {
+        final StringBuilder b = new StringBuilder();
+        b.append(tag.language());
+
+        for (final String component : new String[]{tag.script(), tag.country(), tag.variant()}) {
+            if (false == component.isEmpty()) {
+                b.append(SEPARATOR.character())
+                        .append(component);
+            }
+        }
+
+        return b.toString();
     }
 
+    /**
+     * Lazily set with {@link #AVAILABLE_LOCALES}, holds the canonical {@link Locale} for each language tag that is
+     * already in canonical form, such as "en-AU".
+     */
+    private static Map<String, Locale> LANGUAGE_TAG_LOCALES;
+
+    /**
+     * Returns the shared instance from the available locales or constants when one is equal, otherwise a new {@link Locale}.
+     */
+    private static Locale canonical(final WalkingkookaLanguageTag tag) {
+        availableLocales();
+
+        final Locale locale = CANONICAL_LOCALES.get(tag);
+        return null != locale ?
+                locale :
+                new Locale(tag);
+    }
+
+    /**
+     * Lazily set with {@link #AVAILABLE_LOCALES}, holds a single instance for each available locale and constant.
+     */
+    private static Map<WalkingkookaLanguageTag, Locale> CANONICAL_LOCALES;
+
     /**
      * Lazily set cache.
      */
-    private static List<Locale> AVAILABLE_LOCALES;
+    private static volatile List<Locale> AVAILABLE_LOCALES;
 
     /**
      * <a href="https://en.wikipedia.org/wiki/IETF_language_tag"></a>
@@ -103,19 +225,98 @@ public final class Locale {
     public static Locale forLanguageTag(final String languageTag) {
         Objects.requireNonNull(languageTag, "languageTag");
 
-        return languageTag.isEmpty() ?
-                ROOT :
-                forLanguageTag0(WalkingkookaLanguageTag.parse(languageTag));
+        Locale locale;
+
+        if (languageTag.isEmpty()) {
+            locale = ROOT;
+        } else {
+            // fast path for tags already in canonical form, such as those written by LocaleSupport.write
+            locale = languageTagLocale(languageTag);
+            if (null == locale) {
+                if (isLazyLanguageTag(languageTag)) {
+                    locale = new Locale((WalkingkookaLanguageTag) null, languageTag);
+                } else {
+                    locale = forLanguageTag0(WalkingkookaLanguageTag.parse(languageTag));
+                }
+            }
+        }
+
+        return locale;
     }
 
     /**
-     * Handles the special case where the language may be invalid and a country is present, returning a {@link Locale}
-     * where its language is the original "country" component.
+     * Tests if a language tag that is not available may be kept and only parsed when a component, {@link #equals(Object)}
+     * or {@link #hashCode()} is first required, so reading and writing it back out with
+     * {@link LocaleSupport#read(DataInput)} and {@link LocaleSupport#write} never parses. Only a well formed tag already
+     * in canonical form, holding a lower case language that is neither undefined nor a legacy language, and an optional
+     * title case script, qualifies. Such a tag has no country, so parsing never needs the available locales, and
+     * {@link #toLanguageTag()} always agrees with the components.
+     */
+    private static boolean isLazyLanguageTag(final String languageTag) {
+        final int length = languageTag.length();
+        final int separator = languageTag.indexOf(SEPARATOR.character());
+        final int languageLength = -1 == separator ?
+                length :
+                separator;
+
+        boolean lazy = (2 == languageLength || 3 == languageLength) &&
+                (-1 == separator || separator + 5 == length) &&
+                LocaleSupport.isLanguageTag(languageTag);
+
+        for (int i = 0; lazy && i < languageLength; i++) {
+            final char c = languageTag.charAt(i);
+            lazy = c >= 'a' && c <= 'z';
+        }
+
+        for (int i = languageLength + 1; lazy && i < length; i++) {
+            final char c = languageTag.charAt(i);
+            lazy = languageLength + 1 == i ?
+                    c >= 'A' && c <= 'Z' :
+                    c >= 'a' && c <= 'z';
+        }
+
+        if (lazy) {
+            final String language = languageTag.substring(0, languageLength);
+            lazy = false == "und".equals(language) &&
+                    language.equals(WalkingkookaLanguageTag.oldToNewLanguage(language)) &&
+                    language.equals(WalkingkookaLanguageTag.newToOldLanguage(language)) &&
+                    false == WalkingkookaLanguageTag.isUnsupported(languageTag);
+        }
+
+        return lazy;
+    }
+
+    /**
+     * Returns the canonical {@link Locale} for a language tag in canonical form, or null when there is none or the
+     * available locales have not been decoded, so the fast path never forces a decode.
+     */
+    private static Locale languageTagLocale(final String languageTag) {
+        return null != AVAILABLE_LOCALES ?
+                LANGUAGE_TAG_LOCALES.get(languageTag) :
+                null;
+    }
+
+    /**
+     * A tag without a country never needs the available locales, so it only shares a canonical instance once they
+     * have been decoded. A tag with a country may need the scan performed by {@link #forLanguageTag1(WalkingkookaLanguageTag)}.
      */
     private static Locale forLanguageTag0(final WalkingkookaLanguageTag tag) {
-        return tag.country().isEmpty() ?
-                new Locale(tag) :
-                forLanguageTag1(tag);
+        final Locale locale;
+
+        if (tag.country().isEmpty()) {
+            locale = null != AVAILABLE_LOCALES ?
+                    canonical(tag) :
+                    new Locale(tag);
+        } else {
+            availableLocales();
+
+            final Locale canonical = CANONICAL_LOCALES.get(tag);
+            locale = null != canonical ?
+                    canonical :
+                    forLanguageTag1(tag);
+        }
+
+        return locale;
     }
 
     /**
@@ -133,9 +334,15 @@ public final class Locale {
         final String script = tag.script();
         final String variant = tag.variant();
 
+        final LocaleEvents events = LocaleEvents.instance();
+        final Object event = events.scanBegin();
+
         Locale locale = null;
+        int visited = 0;
+
+        for (final Locale possible : availableLocales()) {
+            visited++;
 
-        for (final Locale possible : getAvailableLocales()) {
             final String possibleLanguage = possible.getLanguage();
             final String possibleCountry = possible.getCountry();
             final String possibleScript = possible.getScript();
@@ -157,38 +364,116 @@ public final class Locale {
 
         if (null == locale) {
             // old country becomes language, ignore variant and script.
-            locale = new Locale(WalkingkookaLanguageTag.with(null, country2, "", variant, script));
+            locale = canonical(WalkingkookaLanguageTag.with(null, country2, "", variant, script));
         }
 
+        events.scanEnd(event, tag, visited, locale);
         return locale;
     }
 
     /**
-     * Retrieves the default or complains if one has not been set previously. This assumes a system property
+     * Retrieves the default of the current {@link LocaleDefaults} scope if any, otherwise the default or complains if
+     * one has not been set previously. This assumes a system property
      * `walkingkooka-java-util-Locale-default` is set and contains the default.
      */
     public static Locale getDefault() {
+        final Locale scoped = scoped();
+        if (null != scoped) {
+            return scoped;
+        }
+
         if (null == defaultLocale) {
             final String defaultLanguageTag = System.getProperty("walkingkooka.j2cl.java.util.locale.Locale.DEFAULT", ""); // DEFAULT_LOCALE transpiler only accepts String literal
             if (CharSequences.isNullOrEmpty(defaultLanguageTag)) {
                 throw new IllegalStateException("System property " + CharSequences.quote(DEFAULT_LOCALE) + " contains " + CharSequences.quoteAndEscape(defaultLanguageTag));
             }
-            defaultLocale = forLanguageTag(defaultLanguageTag);
+            final LocaleEvents events = LocaleEvents.instance();
+            final Object event = events.defaultBegin();
+
+            defaultLocale = defaultLocale(defaultLanguageTag);
+
+            events.defaultEnd(event, defaultLanguageTag, defaultLocale);
         }
         return defaultLocale;
     }
 
+    /**
+     * Returns the default of the current {@link LocaleDefaults} scope, or null when none is active, which without any
+     * scope ever entered is a single field read. On the JVM the scopes hold JDK locales, which are never returned here,
+     * and the JDK {@link java.util.Locale#getDefault()} cannot honour scopes at all.
+     */
+    private static Locale scoped() {
+        final Object scoped = LocaleDefaults.scopedDefault();
+        return scoped instanceof Locale ?
+                (Locale) scoped :
+                null;
+    }
+
+    /**
+     * Resolves the default from the system property. A tag without a country cannot need the available locales scan
+     * performed by {@link #forLanguageTag1(WalkingkookaLanguageTag)}, so if they have not yet been decoded the default is
+     * created directly and adopted as the canonical instance when they are. The check and the assignment of
+     * {@link #propertyDefaultLocale} hold the same lock as {@link #availableLocales()}, so a concurrent decode either
+     * adopts the default or has already completed.
+     */
+    private static Locale defaultLocale(final String languageTag) {
+        final WalkingkookaLanguageTag tag = WalkingkookaLanguageTag.parse(languageTag);
+
+        final Locale locale;
+        if (tag.country().isEmpty()) {
+            synchronized (Locale.class) {
+                if (null == AVAILABLE_LOCALES) {
+                    locale = new Locale(tag);
+                    propertyDefaultLocale = locale;
+                } else {
+                    locale = canonical(tag);
+                }
+            }
+        } else {
+            locale = forLanguageTag0(tag);
+        }
+
+        return locale;
+    }
+
+    /**
+     * The default created from the system property before the available locales were decoded, if any.
+     */
+    private static Locale propertyDefaultLocale;
+
     /**
      * Constant holding the default locale system property, note the literal will be used due to J2CL requiring literal arguments to {@link System#getProperty}.
      */
     final static String DEFAULT_LOCALE = "walkingkooka.j2cl.java.util.locale.Locale.DEFAULT";
 
     /**
-     * Sets or replaces the default {@link Locale}.
+     * Sets or replaces the default {@link Locale}, including the default for each {@link Category}, updating the
+     * {@link LocaleDefaults#defaultVersion()} and notifying its listeners if any changed.
      */
     public static void setDefault(final Locale locale) {
         Objects.requireNonNull(locale, "locale");
+
+        final boolean changed = false == (locale.equals(defaultLocale) &&
+                locale.equals(categoryDefault(defaultDisplayLocale)) &&
+                locale.equals(categoryDefault(defaultFormatLocale)));
+
         defaultLocale = locale;
+        defaultDisplayLocale = locale;
+        defaultFormatLocale = locale;
+
+        if (changed) {
+            LocaleDefaults.defaultChanged();
+        }
+    }
+
+    /**
+     * Returns the stored default for a {@link Category}, which until set is the {@link #defaultLocale}. This never
+     * calls {@link #getDefault()}, which fails when the system property is missing.
+     */
+    private static Locale categoryDefault(final Locale locale) {
+        return null != locale ?
+                locale :
+                defaultLocale;
     }
 
     /**
@@ -197,6 +482,96 @@ public final class Locale {
     // @VisibleForTesting
     static Locale defaultLocale;
 
+    /**
+     * Retrieves the default of the current {@link LocaleDefaults} scope if any, otherwise the default for the given
+     * {@link Category}, which is initially the {@link #getDefault()}.
+     */
+    public static Locale getDefault(final Category category) {
+        Objects.requireNonNull(category, "category");
+
+        Locale locale = scoped();
+        if (null != locale) {
+            return locale;
+        }
+
+        switch (category) {
+            case DISPLAY:
+                locale = defaultDisplayLocale;
+                if (null == locale) {
+                    locale = getDefault();
+                    defaultDisplayLocale = locale;
+                }
+                break;
+            case FORMAT:
+                locale = defaultFormatLocale;
+                if (null == locale) {
+                    locale = getDefault();
+                    defaultFormatLocale = locale;
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown category " + category);
+        }
+
+        return locale;
+    }
+
+    /**
+     * Sets or replaces the default {@link Locale} for the given {@link Category}, leaving {@link #getDefault()} unchanged,
+     * updating the {@link LocaleDefaults#defaultVersion()} and notifying its listeners if it changed.
+     */
+    public static void setDefault(final Category category,
+                                  final Locale locale) {
+        Objects.requireNonNull(category, "category");
+        Objects.requireNonNull(locale, "locale");
+
+        final Locale previous;
+        switch (category) {
+            case DISPLAY:
+                previous = categoryDefault(defaultDisplayLocale);
+                defaultDisplayLocale = locale;
+                break;
+            case FORMAT:
+                previous = categoryDefault(defaultFormatLocale);
+                defaultFormatLocale = locale;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown category " + category);
+        }
+
+        if (false == locale.equals(previous)) {
+            LocaleDefaults.defaultChanged();
+        }
+    }
+
+    /**
+     * Lazily set default for {@link Category#DISPLAY}.
+     */
+    // @VisibleForTesting
+    static Locale defaultDisplayLocale;
+
+    /**
+     * Lazily set default for {@link Category#FORMAT}.
+     */
+    // @VisibleForTesting
+    static Locale defaultFormatLocale;
+
+    /**
+     * The categories of default {@link Locale}.
+     */
+    public enum Category {
+
+        /**
+         * The default {@link Locale} for displaying user interface text.
+         */
+        DISPLAY,
+
+        /**
+         * The default {@link Locale} for formatting dates, numbers and other values.
+         */
+        FORMAT
+    }
+
     public Locale(final String language) {
         this(language, "");
     }
@@ -216,8 +591,17 @@ public final class Locale {
      * This ctor is intended to be internal.
      */
     public Locale(final WalkingkookaLanguageTag tag) {
+        this(tag, null);
+    }
+
+    /**
+     * Creates a {@link Locale} with either its components or, when lazy, only the language tag they are parsed from.
+     */
+    private Locale(final WalkingkookaLanguageTag tag,
+                   final String lazyLanguageTag) {
         super();
         this.tag = tag;
+        this.lazyLanguageTag = lazyLanguageTag;
     }
 
     // java.util.Locale.................................................................................................
@@ -226,49 +610,101 @@ public final class Locale {
      * Returns the language which will always be in lower case.
      */
     public String getLanguage() {
-        return WalkingkookaLanguageTag.newToOldLanguage(this.tag.language());
+        return WalkingkookaLanguageTag.newToOldLanguage(this.tag().language());
     }
 
     /**
      * Returns the country which will always be in upper case.
      */
     public String getCountry() {
-        return this.tag.country();
+        return this.tag().country();
     }
 
     /**
      * Returns the script which will always be in title case.
      */
     public String getScript() {
-        return this.tag.script();
+        return this.tag().script();
     }
 
     public String getVariant() {
-        return this.tag.variant();
+        return this.tag().variant();
     }
 
+    /**
+     * The language tag is cached so repeated calls, such as when formatting or writing locales, do not allocate.
+     */
     public String toLanguageTag() {
-        return this.tag.toLanguageTag();
+        String toLanguageTag = null != this.lazyLanguageTag ?
+                this.lazyLanguageTag :
+                this.toLanguageTag;
+        if (null == toLanguageTag) {
+            toLanguageTag = this.tag.toLanguageTag();
+            this.toLanguageTag = toLanguageTag;
+        }
+        return toLanguageTag;
+    }
+
+    private String toLanguageTag;
+
+    /**
+     * Returns the {@link #tag}, parsing the language tag of a lazy {@link Locale} created by
+     * {@link #forLanguageTag(String)} the first time it is required.
+     */
+    private WalkingkookaLanguageTag tag() {
+        WalkingkookaLanguageTag tag = this.tag;
+        if (null == tag) {
+            tag = WalkingkookaLanguageTag.parse(this.lazyLanguageTag);
+            this.tag = tag;
+        }
+        return tag;
     }
 
+    /**
+     * The language tag of a lazy {@link Locale}, otherwise null. Being final it is always visible to other threads,
+     * unlike the cached {@link #toLanguageTag}, so any thread may parse it.
+     */
+    private final String lazyLanguageTag;
+
+    /**
+     * The components of this {@link Locale}, null until required for a lazy {@link Locale} created by
+     * {@link #forLanguageTag(String)}.
+     */
     private WalkingkookaLanguageTag tag;
 
     // Object...........................................................................................................
 
     @Override
     public int hashCode() {
-        return this.tag.hashCode();
+        int hashCode = this.hashCode;
+        if (0 == hashCode) {
+            hashCode = this.tag().hashCode();
+            this.hashCode = hashCode;
+        }
+        return hashCode;
     }
 
+    private int hashCode;
+
     @Override
     public boolean equals(final Object other) {
         return this == other || other instanceof Locale && this.equals0((Locale) other);
     }
 
+    /**
+     * Two different canonical instances are never equal, so only locales created by the constructors need their tags compared.
+     */
     private boolean equals0(final Locale other) {
-        return this.tag.equals(other.tag);
+        return false == (this.canonical && other.canonical) &&
+                this.hashCode() == other.hashCode() &&
+                this.tag().equals(other.tag());
     }
 
+    /**
+     * True for the constants and the available locales, which are the single shared instance for their tag.
+     */
+    private boolean canonical;
+
     /**
      * Attempts to mimic the toString behaviour of the JDK Locale to String.
      * Extensions are not supported.
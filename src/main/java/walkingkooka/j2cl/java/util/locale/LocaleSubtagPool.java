@@ -0,0 +1,75 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale;
+
+import walkingkooka.j2cl.locale.WalkingkookaLanguageTag;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Shares language, script, country and variant strings between {@link WalkingkookaLanguageTag}, so a subtag such as
+ * "en" or "Latn" is held once across all the available locales rather than once per {@link Locale}. The pool is only
+ * used while decoding the available locales, tags parsed later are never rebuilt and never grow it.
+ */
+final class LocaleSubtagPool {
+
+    static LocaleSubtagPool empty() {
+        return new LocaleSubtagPool();
+    }
+
+    private LocaleSubtagPool() {
+        super();
+    }
+
+    /**
+     * Adds any new subtags to the pool, returning a tag holding only pooled subtags. A new tag is only created when
+     * a subtag is replaced by an equal pooled instance, the first tag with each subtag is kept.
+     */
+    WalkingkookaLanguageTag intern(final WalkingkookaLanguageTag tag) {
+        final String language = tag.language();
+        final String country = tag.country();
+        final String variant = tag.variant();
+        final String script = tag.script();
+
+        final String pooledLanguage = this.subtag(language);
+        final String pooledCountry = this.subtag(country);
+        final String pooledVariant = this.subtag(variant);
+        final String pooledScript = this.subtag(script);
+
+        return language == pooledLanguage && country == pooledCountry && variant == pooledVariant && script == pooledScript ?
+                tag :
+                WalkingkookaLanguageTag.with(null, pooledLanguage, pooledCountry, pooledVariant, pooledScript);
+    }
+
+    private String subtag(final String subtag) {
+        final String pooled = this.subtags.putIfAbsent(subtag, subtag);
+        return null != pooled ?
+                pooled :
+                subtag;
+    }
+
+    private final Map<String, String> subtags = new HashMap<>();
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.subtags.size() + " subtag(s)";
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale.support;
+
+import walkingkooka.j2cl.locale.WalkingkookaLanguageTag;
+import walkingkooka.reflect.PublicStaticHelper;
+import walkingkooka.text.CharSequences;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Factories similar to the JDK 19 {@code Locale.of}, which validate the components and return the shared instance from
+ * {@link Locale#getAvailableLocales()} when one matches ignoring case, only allocating for other locales. Legacy
+ * languages such as iw, in and ji match their new forms he, id and yi and the reverse.
+ */
+public final class CanonicalLocales implements PublicStaticHelper {
+
+    /**
+     * Returns the canonical {@link Locale} for the given language.
+     */
+    public static Locale of(final String language) {
+        return of(language, "", "");
+    }
+
+    /**
+     * Returns the canonical {@link Locale} for the given language and country.
+     */
+    public static Locale of(final String language,
+                            final String country) {
+        return of(language, country, "");
+    }
+
+    /**
+     * Returns the canonical {@link Locale} for the given components, failing if any component is invalid.
+     */
+    public static Locale of(final String language,
+                            final String country,
+                            final String variant) {
+        checkLanguage(language);
+        checkCountry(country);
+        checkVariant(variant);
+
+        final String newLanguage = newLanguage(language);
+
+        final long packed = LocalePackedKeys.pack(newLanguage, "", country, variant);
+        Locale locale = LocalePackedKeys.NOT_PACKED != packed ?
+                PACKED.get(packed) :
+                OTHERS.get(key(newLanguage, country, variant));
+        if (null == locale) {
+            locale = new Locale(language, country, variant);
+        }
+        return locale;
+    }
+
+    /**
+     * A language is empty or 2 to 8 ASCII letters.
+     */
+    private static void checkLanguage(final String language) {
+        Objects.requireNonNull(language, "language");
+
+        final int length = language.length();
+        if (0 != length && false == LocaleSupport.isSubtag(language, 0, length, 2, 8, true, false)) {
+            throw new IllegalArgumentException("Invalid language " + CharSequences.quoteAndEscape(language));
+        }
+    }
+
+    /**
+     * A country is empty, 2 ASCII letters or a 3 digit UN M.49 region.
+     */
+    private static void checkCountry(final String country) {
+        Objects.requireNonNull(country, "country");
+
+        final int length = country.length();
+        if (0 != length && false == (LocaleSupport.isSubtag(country, 0, length, 2, 2, true, false) ||
+                LocaleSupport.isSubtag(country, 0, length, 3, 3, false, true))) {
+            throw new IllegalArgumentException("Invalid country " + CharSequences.quoteAndEscape(country));
+        }
+    }
+
+    /**
+     * A variant is empty or 1 to 8 ASCII letters or digits, separated by hyphens or underscores. Legacy JDK variants
+     * such as JP in ja_JP_JP are shorter than the BCP 47 minimum, so are accepted.
+     */
+    private static void checkVariant(final String variant) {
+        Objects.requireNonNull(variant, "variant");
+
+        if (false == variant.isEmpty() && false == LocaleSupport.isSubtags(variant, true, false)) {
+            throw new IllegalArgumentException("Invalid variant " + CharSequences.quoteAndEscape(variant));
+        }
+    }
+
+    /**
+     * Returns the lower case new form of the language, eg IW becomes he, only allocating when the language is not
+     * already lower case.
+     */
+    private static String newLanguage(final String language) {
+        return WalkingkookaLanguageTag.oldToNewLanguage(lowerCase(language));
+    }
+
+    /**
+     * The case of ASCII letters is changed directly, so the default {@link Locale} such as Turkish cannot affect the result.
+     */
+    private static String lowerCase(final String text) {
+        String lower = text;
+
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                final char[] chars = text.toCharArray();
+                for (int j = i; j < chars.length; j++) {
+                    final char d = chars[j];
+                    if (d >= 'A' && d <= 'Z') {
+                        chars[j] = (char) (d + ('a' - 'A'));
+                    }
+                }
+                lower = new String(chars);
+                break;
+            }
+        }
+
+        return lower;
+    }
+
+    /**
+     * The key of locales that cannot be packed, such as those with a variant, ignoring case.
+     */
+    private static String key(final String newLanguage,
+                              final String country,
+                              final String variant) {
+        return newLanguage + '_' + lowerCase(country) + '_' + lowerCase(variant).replace('-', '_');
+    }
+
+    /**
+     * The available locales that can be packed by their {@link LocalePackedKeys packed key} using the new language.
+     */
+    private final static LocalePackedMap<Locale> PACKED = LocalePackedMap.empty();
+
+    /**
+     * The remaining available locales without a script by {@link #key(String, String, String)}.
+     */
+    private final static Map<String, Locale> OTHERS = new HashMap<>();
+
+    static {
+        for (final Locale locale : Locale.getAvailableLocales()) {
+            if (locale.getScript().isEmpty()) {
+                final String newLanguage = newLanguage(locale.getLanguage());
+                final String country = locale.getCountry();
+                final String variant = locale.getVariant();
+
+                final long packed = LocalePackedKeys.pack(newLanguage, "", country, variant);
+                if (LocalePackedKeys.NOT_PACKED != packed) {
+                    PACKED.put(packed, locale);
+                } else {
+                    OTHERS.put(key(newLanguage, country, variant), locale);
+                }
+            }
+        }
+    }
+
+    private CanonicalLocales() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,394 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale.support;
+
+import walkingkooka.j2cl.locale.WalkingkookaLanguageTag;
+import walkingkooka.reflect.PublicStaticHelper;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Adds or removes likely subtags following the
+ * <a href="https://unicode.org/reports/tr35/#Likely_Subtags">CLDR likely subtags</a> algorithm, so equivalents such as
+ * zh-TW and zh-Hant-TW may be matched. Results are memoized per {@link Locale}.
+ */
+public final class LikelySubtags implements PublicStaticHelper {
+
+    /**
+     * Adds the likely script and country, eg zh-TW becomes zh-Hant-TW and en becomes en-Latn-US. Locales without a
+     * likely subtags entry are returned unchanged.
+     */
+    public static Locale addLikelySubtags(final Locale locale) {
+        Objects.requireNonNull(locale, "locale");
+
+        return ADD.get(locale);
+    }
+
+    /**
+     * Removes the script and country when they are the likely subtags, eg zh-Hant-TW becomes zh-TW and en-Latn-US
+     * becomes en.
+     */
+    public static Locale minimizeSubtags(final Locale locale) {
+        Objects.requireNonNull(locale, "locale");
+
+        return MINIMIZE.get(locale);
+    }
+
+    private final static int MAX = 256;
+
+    private final static LocaleCache<Locale> ADD = LocaleCache.with(LikelySubtags::addLikelySubtags0, MAX);
+
+    private final static LocaleCache<Locale> MINIMIZE = LocaleCache.with(LikelySubtags::minimizeSubtags0, MAX);
+
+    private static Locale addLikelySubtags0(final Locale locale) {
+        final String language = language(locale);
+        final String script = locale.getScript();
+        final String country = locale.getCountry();
+        final String variant = locale.getVariant();
+
+        Locale result = locale;
+
+        if (isVariant(variant)) {
+            final String likely = likely(language, script, country);
+            if (null != likely) {
+                final String[] components = likely.split("-");
+                result = locale(
+                        language.isEmpty() || UNDEFINED.equals(language) ? components[0] : language,
+                        script.isEmpty() ? components[1] : script,
+                        country.isEmpty() ? components[2] : country,
+                        variant
+                );
+            }
+        }
+
+        return result;
+    }
+
+    private static Locale minimizeSubtags0(final Locale locale) {
+        Locale result = locale;
+
+        if (isVariant(locale.getVariant()) && null != likely(language(locale), locale.getScript(), locale.getCountry())) {
+            final Locale max = addLikelySubtags(locale);
+            final String language = max.getLanguage();
+            final String script = max.getScript();
+            final String country = max.getCountry();
+            final String variant = max.getVariant();
+
+            result = max;
+
+            for (final Locale trial : new Locale[]{
+                    locale(language, "", "", variant),
+                    locale(language, "", country, variant),
+                    locale(language, script, "", variant)
+            }) {
+                if (max.equals(addLikelySubtags(trial))) {
+                    result = trial;
+                    break;
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Tries language-script-country, language-country, language-script, language, und-script and finally und-country.
+     */
+    private static String likely(final String language,
+                                 final String script,
+                                 final String country) {
+        final String lookupLanguage = language.isEmpty() ?
+                UNDEFINED :
+                language;
+        final Map<String, String> table = TABLE;
+
+        String likely = null;
+        if (false == script.isEmpty() && false == country.isEmpty()) {
+            likely = table.get(lookupLanguage + "-" + script + "-" + country);
+        }
+        if (null == likely && false == country.isEmpty()) {
+            likely = table.get(lookupLanguage + "-" + country);
+        }
+        if (null == likely && false == script.isEmpty()) {
+            likely = table.get(lookupLanguage + "-" + script);
+        }
+        if (null == likely) {
+            likely = table.get(lookupLanguage);
+        }
+        if (null == likely && false == script.isEmpty()) {
+            likely = table.get(UNDEFINED + "-" + script);
+        }
+        if (null == likely && false == country.isEmpty()) {
+            likely = table.get(UNDEFINED + "-" + country);
+        }
+        return likely;
+    }
+
+    /**
+     * Returns the new form of the language, eg IW becomes HE, matching the likely subtags table.
+     */
+    private static String language(final Locale locale) {
+        return WalkingkookaLanguageTag.oldToNewLanguage(locale.getLanguage());
+    }
+
+    /**
+     * Only locales with a well formed variant or none may be rebuilt from a language tag.
+     */
+    private static boolean isVariant(final String variant) {
+        final int length = variant.length();
+        return 0 == length ||
+                length >= 5 && length <= 8 ||
+                4 == length && Character.isDigit(variant.charAt(0));
+    }
+
+    private static Locale locale(final String language,
+                                 final String script,
+                                 final String country,
+                                 final String variant) {
+        final StringBuilder tag = new StringBuilder();
+        tag.append(language.isEmpty() ? UNDEFINED : language);
+
+        for (final String component : new String[]{script, country, variant}) {
+            if (false == component.isEmpty()) {
+                tag.append('-')
+                        .append(component);
+            }
+        }
+
+        return Locale.forLanguageTag(tag.toString());
+    }
+
+    private final static String UNDEFINED = "und";
+
+    /**
+     * A compact subset of the CLDR likely subtags, covering the languages of the JRE locales, those whose script
+     * depends on the country and the countries of the JRE locales.
+     */
+    private final static String DATA = "und=en-Latn-US," +
+            "und-Arab=ar-Arab-EG," +
+            "und-Cyrl=ru-Cyrl-RU," +
+            "und-Hans=zh-Hans-CN," +
+            "und-Hant=zh-Hant-TW," +
+            "und-Latn=en-Latn-US," +
+            "und-AE=ar-Arab-AE," +
+            "und-AF=fa-Arab-AF," +
+            "und-AL=sq-Latn-AL," +
+            "und-AM=hy-Armn-AM," +
+            "und-AR=es-Latn-AR," +
+            "und-AT=de-Latn-AT," +
+            "und-AU=en-Latn-AU," +
+            "und-AZ=az-Latn-AZ," +
+            "und-BA=bs-Latn-BA," +
+            "und-BD=bn-Beng-BD," +
+            "und-BE=nl-Latn-BE," +
+            "und-BG=bg-Cyrl-BG," +
+            "und-BR=pt-Latn-BR," +
+            "und-BY=be-Cyrl-BY," +
+            "und-CA=en-Latn-CA," +
+            "und-CH=de-Latn-CH," +
+            "und-CN=zh-Hans-CN," +
+            "und-CZ=cs-Latn-CZ," +
+            "und-DE=de-Latn-DE," +
+            "und-DK=da-Latn-DK," +
+            "und-EE=et-Latn-EE," +
+            "und-EG=ar-Arab-EG," +
+            "und-ES=es-Latn-ES," +
+            "und-ET=am-Ethi-ET," +
+            "und-FI=fi-Latn-FI," +
+            "und-FR=fr-Latn-FR," +
+            "und-GB=en-Latn-GB," +
+            "und-GE=ka-Geor-GE," +
+            "und-GR=el-Grek-GR," +
+            "und-HK=zh-Hant-HK," +
+            "und-HR=hr-Latn-HR," +
+            "und-HU=hu-Latn-HU," +
+            "und-ID=id-Latn-ID," +
+            "und-IE=en-Latn-IE," +
+            "und-IL=he-Hebr-IL," +
+            "und-IN=hi-Deva-IN," +
+            "und-IR=fa-Arab-IR," +
+            "und-IS=is-Latn-IS," +
+            "und-IT=it-Latn-IT," +
+            "und-JP=ja-Jpan-JP," +
+            "und-KG=ky-Cyrl-KG," +
+            "und-KH=km-Khmr-KH," +
+            "und-KR=ko-Kore-KR," +
+            "und-KZ=ru-Cyrl-KZ," +
+            "und-LA=lo-Laoo-LA," +
+            "und-LK=si-Sinh-LK," +
+            "und-LT=lt-Latn-LT," +
+            "und-LV=lv-Latn-LV," +
+            "und-ME=sr-Latn-ME," +
+            "und-MK=mk-Cyrl-MK," +
+            "und-MM=my-Mymr-MM," +
+            "und-MN=mn-Cyrl-MN," +
+            "und-MO=zh-Hant-MO," +
+            "und-MT=mt-Latn-MT," +
+            "und-MX=es-Latn-MX," +
+            "und-MY=ms-Latn-MY," +
+            "und-NL=nl-Latn-NL," +
+            "und-NO=nb-Latn-NO," +
+            "und-NP=ne-Deva-NP," +
+            "und-NZ=en-Latn-NZ," +
+            "und-PH=fil-Latn-PH," +
+            "und-PK=ur-Arab-PK," +
+            "und-PL=pl-Latn-PL," +
+            "und-PT=pt-Latn-PT," +
+            "und-RO=ro-Latn-RO," +
+            "und-RS=sr-Cyrl-RS," +
+            "und-RU=ru-Cyrl-RU," +
+            "und-SA=ar-Arab-SA," +
+            "und-SE=sv-Latn-SE," +
+            "und-SI=sl-Latn-SI," +
+            "und-SK=sk-Latn-SK," +
+            "und-TH=th-Thai-TH," +
+            "und-TR=tr-Latn-TR," +
+            "und-TW=zh-Hant-TW," +
+            "und-TZ=sw-Latn-TZ," +
+            "und-UA=uk-Cyrl-UA," +
+            "und-US=en-Latn-US," +
+            "und-UZ=uz-Latn-UZ," +
+            "und-VN=vi-Latn-VN," +
+            "und-ZA=en-Latn-ZA," +
+            "af=af-Latn-ZA," +
+            "am=am-Ethi-ET," +
+            "ar=ar-Arab-EG," +
+            "as=as-Beng-IN," +
+            "az=az-Latn-AZ," +
+            "az-Arab=az-Arab-IR," +
+            "az-Cyrl=az-Cyrl-AZ," +
+            "az-IR=az-Arab-IR," +
+            "be=be-Cyrl-BY," +
+            "bg=bg-Cyrl-BG," +
+            "bn=bn-Beng-BD," +
+            "bs=bs-Latn-BA," +
+            "bs-Cyrl=bs-Cyrl-BA," +
+            "ca=ca-Latn-ES," +
+            "cs=cs-Latn-CZ," +
+            "cy=cy-Latn-GB," +
+            "da=da-Latn-DK," +
+            "de=de-Latn-DE," +
+            "el=el-Grek-GR," +
+            "en=en-Latn-US," +
+            "es=es-Latn-ES," +
+            "et=et-Latn-EE," +
+            "eu=eu-Latn-ES," +
+            "fa=fa-Arab-IR," +
+            "fi=fi-Latn-FI," +
+            "fil=fil-Latn-PH," +
+            "fr=fr-Latn-FR," +
+            "ga=ga-Latn-IE," +
+            "gl=gl-Latn-ES," +
+            "gu=gu-Gujr-IN," +
+            "he=he-Hebr-IL," +
+            "hi=hi-Deva-IN," +
+            "hr=hr-Latn-HR," +
+            "hu=hu-Latn-HU," +
+            "hy=hy-Armn-AM," +
+            "id=id-Latn-ID," +
+            "is=is-Latn-IS," +
+            "it=it-Latn-IT," +
+            "ja=ja-Jpan-JP," +
+            "ka=ka-Geor-GE," +
+            "kk=kk-Cyrl-KZ," +
+            "km=km-Khmr-KH," +
+            "kn=kn-Knda-IN," +
+            "ko=ko-Kore-KR," +
+            "ky=ky-Cyrl-KG," +
+            "lo=lo-Laoo-LA," +
+            "lt=lt-Latn-LT," +
+            "lv=lv-Latn-LV," +
+            "mk=mk-Cyrl-MK," +
+            "ml=ml-Mlym-IN," +
+            "mn=mn-Cyrl-MN," +
+            "mr=mr-Deva-IN," +
+            "ms=ms-Latn-MY," +
+            "mt=mt-Latn-MT," +
+            "my=my-Mymr-MM," +
+            "nb=nb-Latn-NO," +
+            "ne=ne-Deva-NP," +
+            "nl=nl-Latn-NL," +
+            "nn=nn-Latn-NO," +
+            "no=no-Latn-NO," +
+            "pa=pa-Guru-IN," +
+            "pa-Arab=pa-Arab-PK," +
+            "pa-PK=pa-Arab-PK," +
+            "pl=pl-Latn-PL," +
+            "pt=pt-Latn-BR," +
+            "ro=ro-Latn-RO," +
+            "ru=ru-Cyrl-RU," +
+            "si=si-Sinh-LK," +
+            "sk=sk-Latn-SK," +
+            "sl=sl-Latn-SI," +
+            "sq=sq-Latn-AL," +
+            "sr=sr-Cyrl-RS," +
+            "sr-Latn=sr-Latn-RS," +
+            "sr-ME=sr-Latn-ME," +
+            "sv=sv-Latn-SE," +
+            "sw=sw-Latn-TZ," +
+            "ta=ta-Taml-IN," +
+            "te=te-Telu-IN," +
+            "th=th-Thai-TH," +
+            "tr=tr-Latn-TR," +
+            "uk=uk-Cyrl-UA," +
+            "ur=ur-Arab-PK," +
+            "uz=uz-Latn-UZ," +
+            "uz-AF=uz-Arab-AF," +
+            "uz-Arab=uz-Arab-AF," +
+            "uz-Cyrl=uz-Cyrl-UZ," +
+            "vi=vi-Latn-VN," +
+            "zh=zh-Hans-CN," +
+            "zh-HK=zh-Hant-HK," +
+            "zh-Hant=zh-Hant-TW," +
+            "zh-MO=zh-Hant-MO," +
+            "zh-TW=zh-Hant-TW";
+
+    /**
+     * The parsed {@link #DATA}, keyed by the partial language tag, limited to entries whose likely language is the
+     * language of an available locale, so J2CL builds selecting a few locales never add subtags for others.
+     */
+    private final static Map<String, String> TABLE = table();
+
+    private static Map<String, String> table() {
+        final Set<String> languages = new HashSet<>();
+        for (final Locale locale : Locale.getAvailableLocales()) {
+            languages.add(language(locale));
+        }
+
+        final Map<String, String> table = new HashMap<>();
+
+        for (final String entry : DATA.split(",")) {
+            final int equals = entry.indexOf('=');
+            final String likely = entry.substring(equals + 1);
+            if (languages.contains(likely.substring(0, likely.indexOf('-')))) {
+                table.put(entry.substring(0, equals), likely);
+            }
+        }
+
+        return table;
+    }
+
+    private LikelySubtags() {
+        throw new UnsupportedOperationException();
+    }
+}
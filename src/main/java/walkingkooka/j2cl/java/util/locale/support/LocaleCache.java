@@ -0,0 +1,230 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale.support;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * A cache of values derived from a {@link Locale}, such as number or date symbols.
+ * <ul>
+ * <li>Values for the {@link Locale#getAvailableLocales()} are held in an array indexed by their position, and are never
+ * evicted. The positions are only computed by the first {@link #get(Locale)}, so creating a cache never decodes the
+ * available locales.</li>
+ * <li>Values for all other locales are held in an access ordered map, bounded by the given maximum, with the least
+ * recently used evicted first in constant time. The map lock is only held to find or add an {@link Entry}.</li>
+ * </ul>
+ * Each {@link Locale} has its own {@link Entry}, which calls the loader once while holding only that entry's lock,
+ * so concurrent misses for the same {@link Locale} on the JVM wait for the first, while misses for other locales
+ * and all hits proceed. Values should be immutable.
+ */
+public final class LocaleCache<V> {
+
+    public static <V> LocaleCache<V> with(final Function<Locale, V> loader,
+                                          final int max) {
+        Objects.requireNonNull(loader, "loader");
+        if (max < 0) {
+            throw new IllegalArgumentException("Invalid max " + max + " < 0");
+        }
+
+        return new LocaleCache<>(loader, max);
+    }
+
+    private LocaleCache(final Function<Locale, V> loader,
+                        final int max) {
+        super();
+        this.loader = loader;
+        this.max = max;
+        this.others = new LinkedHashMap<Locale, Entry<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Locale, Entry<V>> eldest) {
+                final boolean evict = this.size() > max;
+                if (evict) {
+                    LocaleEvents.instance()
+                            .cacheEviction("LocaleCache", max, eldest.getKey());
+                }
+                return evict;
+            }
+        };
+    }
+
+    public V get(final Locale locale) {
+        Objects.requireNonNull(locale, "locale");
+
+        final Integer index = Available.POSITIONS.get(locale);
+        return null != index ?
+                this.getAvailable(index, locale) :
+                this.getOther(locale);
+    }
+
+    private V getAvailable(final int index,
+                           final Locale locale) {
+        final AtomicReferenceArray<Entry<V>> available = this.available();
+
+        Entry<V> entry = available.get(index);
+        if (null == entry) {
+            available.compareAndSet(index, null, new Entry<>());
+            entry = available.get(index);
+        }
+        return entry.get(this.loader, locale);
+    }
+
+    /**
+     * Creates the array for the available locales on first use, so caches that only see other locales never allocate it.
+     */
+    private AtomicReferenceArray<Entry<V>> available() {
+        AtomicReferenceArray<Entry<V>> available = this.available;
+        if (null == available) {
+            synchronized (this.others) {
+                available = this.available;
+                if (null == available) {
+                    available = new AtomicReferenceArray<>(Available.POSITIONS.size());
+                    this.available = available;
+                }
+            }
+        }
+        return available;
+    }
+
+    /**
+     * Finds or adds the {@link Entry} under the map lock, which also refreshes its position for eviction, then loads
+     * outside the lock.
+     */
+    private V getOther(final Locale locale) {
+        final Map<Locale, Entry<V>> others = this.others;
+
+        Entry<V> entry;
+        synchronized (others) {
+            entry = others.get(locale);
+            if (null == entry) {
+                entry = new Entry<>();
+                others.put(locale, entry);
+            }
+        }
+
+        return entry.get(this.loader, locale);
+    }
+
+    /**
+     * Returns the number of cached values across both tiers.
+     */
+    public int size() {
+        int size = 0;
+
+        final Map<Locale, Entry<V>> others = this.others;
+        synchronized (others) {
+            for (final Entry<V> entry : others.values()) {
+                if (null != entry.value) {
+                    size++;
+                }
+            }
+        }
+
+        final AtomicReferenceArray<Entry<V>> available = this.available;
+        final int length = null != available ?
+                available.length() :
+                0;
+        for (int i = 0; i < length; i++) {
+            final Entry<V> entry = available.get(i);
+            if (null != entry && null != entry.value) {
+                size++;
+            }
+        }
+
+        return size;
+    }
+
+    /**
+     * The loader which creates a value for a {@link Locale} missing from the cache.
+     */
+    private final Function<Locale, V> loader;
+
+    /**
+     * The maximum number of cached locales outside the available locales.
+     */
+    private final int max;
+
+    /**
+     * Entries for the available locales, indexed by their position, null until first required.
+     */
+    private volatile AtomicReferenceArray<Entry<V>> available;
+
+    /**
+     * Entries for other locales in access order, guarded by its own lock.
+     */
+    private final Map<Locale, Entry<V>> others;
+
+    /**
+     * Holds the value for a single {@link Locale}, a null value marks an entry not yet loaded or being loaded.
+     */
+    private final static class Entry<V> {
+
+        V get(final Function<Locale, V> loader,
+              final Locale locale) {
+            V value = this.value;
+            if (null == value) {
+                synchronized (this) {
+                    value = this.value;
+                    if (null == value) {
+                        value = loader.apply(locale);
+                        if (null == value) {
+                            throw new IllegalStateException("Loader returned null for " + locale);
+                        }
+                        this.value = value;
+                    }
+                }
+            }
+            return value;
+        }
+
+        volatile V value;
+    }
+
+    /**
+     * Holds the position of each {@link Locale#getAvailableLocales()}, shared by all caches. Being a separate class it is
+     * only initialized, decoding the available locales, by the first {@link #get(Locale)}.
+     */
+    private final static class Available {
+
+        final static Map<Locale, Integer> POSITIONS = positions();
+
+        private static Map<Locale, Integer> positions() {
+            final Map<Locale, Integer> positions = new HashMap<>();
+
+            for (final Locale locale : Locale.getAvailableLocales()) {
+                if (false == positions.containsKey(locale)) {
+                    positions.put(locale, positions.size());
+                }
+            }
+
+            return positions;
+        }
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.loader + " max: " + this.max;
+    }
+}
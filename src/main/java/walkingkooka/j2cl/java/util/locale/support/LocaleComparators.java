@@ -0,0 +1,128 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale.support;
+
+import walkingkooka.reflect.PublicStaticHelper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * {@link Comparator comparators} for {@link Locale}. Two available locales are compared using ranks precomputed once in
+ * a side table, all other locales by comparing their components.
+ */
+public final class LocaleComparators implements PublicStaticHelper {
+
+    /**
+     * Returns a {@link Comparator} ordering locales by {@link Locale#toLanguageTag()}.
+     */
+    public static Comparator<Locale> languageTag() {
+        return LANGUAGE_TAG;
+    }
+
+    /**
+     * Returns a {@link Comparator} ordering locales by language, then country, then script and finally variant.
+     */
+    public static Comparator<Locale> languageCountryScript() {
+        return LANGUAGE_COUNTRY_SCRIPT;
+    }
+
+    /**
+     * Returns an immutable snapshot of the available locales sorted by {@link #languageTag()}.
+     */
+    public static List<Locale> getAvailableLocalesSorted() {
+        return AVAILABLE_LOCALES_SORTED;
+    }
+
+    private static int compareLanguageTag(final Locale left,
+                                          final Locale right) {
+        return left.toLanguageTag().compareTo(right.toLanguageTag());
+    }
+
+    private static int compareLanguageCountryScript(final Locale left,
+                                                    final Locale right) {
+        int result = left.getLanguage().compareTo(right.getLanguage());
+        if (0 == result) {
+            result = left.getCountry().compareTo(right.getCountry());
+            if (0 == result) {
+                result = left.getScript().compareTo(right.getScript());
+                if (0 == result) {
+                    result = left.getVariant().compareTo(right.getVariant());
+                }
+            }
+        }
+        return result;
+    }
+
+    private static Comparator<Locale> ranked(final Comparator<Locale> keys) {
+        final Map<Locale, Integer> ranks = ranks(keys);
+
+        return (l, r) -> {
+            final Integer left = ranks.get(l);
+            final Integer right = null != left ?
+                    ranks.get(r) :
+                    null;
+            return null != right ?
+                    Integer.compare(left, right) :
+                    keys.compare(l, r);
+        };
+    }
+
+    /**
+     * Sorts the available locales once, giving equal locales the same rank, so comparing ranks always agrees with
+     * comparing keys.
+     */
+    private static Map<Locale, Integer> ranks(final Comparator<Locale> keys) {
+        final List<Locale> sorted = new ArrayList<>(Arrays.asList(Locale.getAvailableLocales()));
+        sorted.sort(keys);
+
+        final Map<Locale, Integer> ranks = new HashMap<>();
+        Locale previous = null;
+        int rank = -1;
+        for (final Locale locale : sorted) {
+            if (null == previous || 0 != keys.compare(previous, locale)) {
+                rank++;
+            }
+            ranks.put(locale, rank);
+            previous = locale;
+        }
+        return ranks;
+    }
+
+    private final static Comparator<Locale> LANGUAGE_TAG = ranked(LocaleComparators::compareLanguageTag);
+
+    private final static Comparator<Locale> LANGUAGE_COUNTRY_SCRIPT = ranked(LocaleComparators::compareLanguageCountryScript);
+
+    private final static List<Locale> AVAILABLE_LOCALES_SORTED = availableLocalesSorted();
+
+    private static List<Locale> availableLocalesSorted() {
+        final List<Locale> sorted = new ArrayList<>(Arrays.asList(Locale.getAvailableLocales()));
+        sorted.sort(LANGUAGE_TAG);
+        return Collections.unmodifiableList(sorted);
+    }
+
+    private LocaleComparators() {
+        throw new UnsupportedOperationException();
+    }
+}
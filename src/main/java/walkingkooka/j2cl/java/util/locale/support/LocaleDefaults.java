@@ -0,0 +1,307 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale.support;
+
+import javaemul.internal.annotations.GwtIncompatible;
+import walkingkooka.reflect.PublicStaticHelper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+
+/**
+ * Scoped default {@link Locale locales}, a version and change listeners. A scope replaces the default, including each
+ * {@link Locale.Category}, for the current thread while a task runs. On J2CL the emulated {@link Locale#getDefault()}
+ * and {@link Locale#getDefault(Locale.Category)} honour scopes through {@link #scopedDefault()}, and its
+ * {@link Locale#setDefault(Locale)} and {@link Locale#setDefault(Locale.Category, Locale)} update
+ * {@link #defaultVersion()} and notify listeners through {@link #defaultChanged()}. The JVM {@link Locale} cannot, so
+ * code that must work on both reads the default using {@link #getDefault()} or {@link #getDefault(Locale.Category)},
+ * and changes it with {@link #setDefault(Locale)} or {@link #setDefault(Locale.Category, Locale)}.
+ */
+public final class LocaleDefaults implements PublicStaticHelper {
+
+    /**
+     * Returns the default of the current scope, otherwise {@link Locale#getDefault()}.
+     */
+    public static Locale getDefault() {
+        final Locale locale = scoped();
+        return null != locale ?
+                locale :
+                Locale.getDefault();
+    }
+
+    /**
+     * Returns the default of the current scope, otherwise {@link Locale#getDefault(Locale.Category)}.
+     */
+    public static Locale getDefault(final Locale.Category category) {
+        Objects.requireNonNull(category, "category");
+
+        final Locale locale = scoped();
+        return null != locale ?
+                locale :
+                Locale.getDefault(category);
+    }
+
+    /**
+     * Sets the default {@link Locale}, including each {@link Locale.Category}, with {@link Locale#setDefault(Locale)},
+     * notifying listeners if a default changed.
+     */
+    public static void setDefault(final Locale locale) {
+        Objects.requireNonNull(locale, "locale");
+
+        LocalePlatform.defaultSetter.accept(locale);
+    }
+
+    /**
+     * Sets the default for the given {@link Locale.Category} with {@link Locale#setDefault(Locale.Category, Locale)},
+     * notifying listeners if it changed.
+     */
+    public static void setDefault(final Locale.Category category,
+                                  final Locale locale) {
+        Objects.requireNonNull(category, "category");
+        Objects.requireNonNull(locale, "locale");
+
+        LocalePlatform.categoryDefaultSetter.accept(category, locale);
+    }
+
+    /**
+     * The JDK {@link Locale#setDefault(Locale)} does not report changes, so they are detected by comparing with the
+     * JDK defaults, which unlike J2CL are always present.
+     */
+    @GwtIncompatible
+    static void setDefaultJvm(final Locale locale) {
+        final boolean changed = false == (locale.equals(Locale.getDefault()) &&
+                locale.equals(Locale.getDefault(Locale.Category.DISPLAY)) &&
+                locale.equals(Locale.getDefault(Locale.Category.FORMAT)));
+
+        Locale.setDefault(locale);
+
+        if (changed) {
+            changed();
+        }
+    }
+
+    @GwtIncompatible
+    static void setDefaultJvm(final Locale.Category category,
+                              final Locale locale) {
+        final Locale previous = Locale.getDefault(category);
+        Locale.setDefault(category, locale);
+
+        if (false == locale.equals(previous)) {
+            changed();
+        }
+    }
+
+    /**
+     * Updates the version and notifies listeners after a default changed. This is internal, it is public only so the
+     * emulated {@link Locale#setDefault(Locale)} and {@link Locale#setDefault(Locale.Category, Locale)} may report
+     * changes.
+     */
+    public static void defaultChanged() {
+        changed();
+    }
+
+    /**
+     * Returns a version which changes each time {@link #setDefault(Locale)} or {@link #setDefault(Locale.Category, Locale)},
+     * or on J2CL {@link Locale#setDefault(Locale)} or {@link Locale#setDefault(Locale.Category, Locale)}, changes a default, and which is different within each scope, so state derived from {@link #getDefault()} may be
+     * tested for staleness by comparing a single int.
+     */
+    public static int defaultVersion() {
+        final Scope scope = scope();
+        return null != scope ?
+                scope.version :
+                version;
+    }
+
+    private static volatile int version;
+
+    /**
+     * The source of every version, so a scope never shares a version with another scope or a global change.
+     */
+    private static int next() {
+        synchronized (LOCK) {
+            return ++counter;
+        }
+    }
+
+    private static int counter;
+
+    /**
+     * Adds a listener which is run after {@link #setDefault(Locale)} or {@link #setDefault(Locale.Category, Locale)}
+     * changes a default, returning a {@link Runnable} which removes it.
+     */
+    public static Runnable addDefaultListener(final Runnable listener) {
+        Objects.requireNonNull(listener, "listener");
+
+        synchronized (LOCK) {
+            final List<Runnable> copy = new ArrayList<>(listeners);
+            copy.add(listener);
+            listeners = copy;
+        }
+
+        return () -> removeDefaultListener(listener);
+    }
+
+    private static void removeDefaultListener(final Runnable listener) {
+        synchronized (LOCK) {
+            final List<Runnable> copy = new ArrayList<>(listeners);
+            copy.remove(listener);
+            listeners = copy;
+        }
+    }
+
+    /**
+     * Updates {@link #version} and then runs every listener registered when the change completed. A failing listener
+     * does not stop the others, the first failure is thrown once all have run with any others suppressed.
+     */
+    private static void changed() {
+        version = next();
+
+        RuntimeException failure = null;
+
+        for (final Runnable listener : listeners) {
+            try {
+                listener.run();
+            } catch (final RuntimeException cause) {
+                if (null == failure) {
+                    failure = cause;
+                } else {
+                    failure.addSuppressed(cause);
+                }
+            }
+        }
+
+        if (null != failure) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Replaced rather than modified, so listeners may be run without holding {@link #LOCK}.
+     */
+    private static volatile List<Runnable> listeners = Collections.emptyList();
+
+    private final static Object LOCK = new Object();
+
+    /**
+     * Runs the task with the given {@link Locale} as the default for the current thread, including each
+     * {@link Locale.Category}. Other threads, and this thread once the task completes, continue to see the previous
+     * default. Scopes may be nested.
+     */
+    public static void runWithDefault(final Locale locale,
+                                      final Runnable task) {
+        Objects.requireNonNull(locale, "locale");
+        Objects.requireNonNull(task, "task");
+
+        final Scope previous = enter(locale);
+        try {
+            task.run();
+        } finally {
+            LocalePlatform.scopeSetter.accept(previous);
+        }
+    }
+
+    /**
+     * Calls the task with the given {@link Locale} as the default for the current thread, returning its result.
+     */
+    public static <T> T callWithDefault(final Locale locale,
+                                        final Callable<T> task) throws Exception {
+        Objects.requireNonNull(locale, "locale");
+        Objects.requireNonNull(task, "task");
+
+        final Scope previous = enter(locale);
+        try {
+            return task.call();
+        } finally {
+            LocalePlatform.scopeSetter.accept(previous);
+        }
+    }
+
+    /**
+     * Enters a new {@link Scope} with its own version, returning the previous scope which must be restored.
+     */
+    private static Scope enter(final Locale locale) {
+        entered = true;
+
+        final Scope previous = LocalePlatform.scopeGetter.get();
+        LocalePlatform.scopeSetter.accept(new Scope(locale, next()));
+        return previous;
+    }
+
+    /**
+     * Returns the default of the current scope or null, which is a single field read until the first scope is entered.
+     * This is internal, it is public only so the emulated {@link Locale#getDefault()} may read it, returning
+     * {@link Object} as that {@link Locale} is a different class until shaded.
+     */
+    public static Object scopedDefault() {
+        return scoped();
+    }
+
+    /**
+     * Returns the default of the current scope or null.
+     */
+    private static Locale scoped() {
+        final Scope scope = scope();
+        return null != scope ?
+                scope.locale :
+                null;
+    }
+
+    /**
+     * Returns the current scope or null. Until the first scope is entered this is a single field read.
+     */
+    private static Scope scope() {
+        return entered ?
+                LocalePlatform.scopeGetter.get() :
+                null;
+    }
+
+    /**
+     * A scoped default along with its version.
+     */
+    final static class Scope {
+
+        Scope(final Locale locale,
+              final int version) {
+            super();
+            this.locale = locale;
+            this.version = version;
+        }
+
+        final Locale locale;
+
+        final int version;
+
+        @Override
+        public String toString() {
+            return this.locale + " " + this.version;
+        }
+    }
+
+    /**
+     * Set once by the first scope and never cleared. Only the thread entering a scope needs to see this write.
+     */
+    private static boolean entered;
+
+    private LocaleDefaults() {
+        throw new UnsupportedOperationException();
+    }
+}
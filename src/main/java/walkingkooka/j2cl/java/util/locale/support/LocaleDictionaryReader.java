@@ -0,0 +1,89 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale.support;
+
+import walkingkooka.collect.set.Sets;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Reads the sets of {@link Locale} written by a {@link LocaleDictionaryWriter}, resolving each distinct
+ * {@link Locale} once.
+ */
+public final class LocaleDictionaryReader {
+
+    public static LocaleDictionaryReader with(final DataInput data) {
+        Objects.requireNonNull(data, "data");
+
+        return new LocaleDictionaryReader(data);
+    }
+
+    private LocaleDictionaryReader(final DataInput data) {
+        super();
+        this.data = data;
+    }
+
+    public Set<Locale> readLocales() throws IOException {
+        final int count = LocaleSupport.readVarint(this.data);
+        final Set<Locale> locales = Sets.ordered();
+        for (int i = 0; i < count; i++) {
+            locales.add(this.read());
+        }
+
+        return locales;
+    }
+
+    public Locale read() throws IOException {
+        final DataInput data = this.data;
+        final List<Locale> dictionary = this.dictionary;
+
+        final int index = LocaleSupport.readVarint(data);
+        final int size = dictionary.size();
+
+        final Locale locale;
+        if (index < size) {
+            locale = dictionary.get(index);
+        } else {
+            if (index != size) {
+                throw new IOException("Invalid locale index " + index + " expected " + size);
+            }
+            locale = LocaleSupport.read(data);
+            dictionary.add(locale);
+        }
+
+        return locale;
+    }
+
+    private final DataInput data;
+
+    /**
+     * Every {@link Locale} read so far in the order they were written.
+     */
+    private final List<Locale> dictionary = new ArrayList<>();
+
+    @Override
+    public String toString() {
+        return this.dictionary.size() + " locale(s)";
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale.support;
+
+import javaemul.internal.annotations.GwtIncompatible;
+import walkingkooka.text.printer.IndentingPrinter;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A session that writes many sets of {@link Locale} into a single {@link DataOutput}, writing each distinct
+ * {@link Locale} once. Every {@link Locale} is written as its index in the dictionary, and a new index is immediately
+ * followed by the language tag. Counts and indices are written as varints, so the first 128 locales take a single
+ * byte. The output must be read by a {@link LocaleDictionaryReader}.
+ */
+public final class LocaleDictionaryWriter {
+
+    public static LocaleDictionaryWriter with(final DataOutput data) {
+        Objects.requireNonNull(data, "data");
+
+        return new LocaleDictionaryWriter(data);
+    }
+
+    private LocaleDictionaryWriter(final DataOutput data) {
+        super();
+        this.data = data;
+    }
+
+    /**
+     * The dictionary form of {@link LocaleSupport#generateLocales(Set, DataOutput, String, IndentingPrinter)}.
+     */
+    @GwtIncompatible
+    public void generateLocales(final Set<Locale> locales,
+                                final String label,
+                                final IndentingPrinter comments) throws IOException {
+        LocaleSupport.generateComments(locales, label, comments);
+        this.writeLocales(locales);
+    }
+
+    public void writeLocales(final Set<Locale> locales) throws IOException {
+        LocaleSupport.writeVarint(locales.size(), this.data);
+
+        for (final Locale locale : locales) {
+            this.write(locale);
+        }
+    }
+
+    public void write(final Locale locale) throws IOException {
+        Objects.requireNonNull(locale, "locale");
+
+        final DataOutput data = this.data;
+        final Map<Locale, Integer> dictionary = this.dictionary;
+
+        final Integer index = dictionary.get(locale);
+        if (null != index) {
+            LocaleSupport.writeVarint(index, data);
+        } else {
+            final int next = dictionary.size();
+            dictionary.put(locale, next);
+
+            LocaleSupport.writeVarint(next, data);
+            LocaleSupport.write(locale, data);
+        }
+    }
+
+    private final DataOutput data;
+
+    /**
+     * The index of every {@link Locale} written so far.
+     */
+    private final Map<Locale, Integer> dictionary = new HashMap<>();
+
+    @Override
+    public String toString() {
+        return this.dictionary.size() + " locale(s)";
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale.support;
+
+/**
+ * Receives events about locale decoding, resolution and caching. Every method does nothing, so the J2CL build pays
+ * nothing, on the JVM {@link #instance()} is {@link LocaleJfrEvents} which records Java Flight Recorder events.
+ * A begin method returns a token which must be passed to its matching end method, and may be null.
+ * This is internal to the locale emulation, it is public only so {@link java.util.Locale} may report events, and
+ * cannot be replaced or sub classed.
+ */
+public class LocaleEvents {
+
+    /**
+     * Returns the {@link LocaleEvents} installed by {@link LocalePlatform}.
+     */
+    public static LocaleEvents instance() {
+        return LocalePlatform.events;
+    }
+
+    LocaleEvents() {
+        super();
+    }
+
+    /**
+     * Called before the available locales are decoded.
+     */
+    public Object decodeBegin() {
+        return null;
+    }
+
+    public void decodeEnd(final Object event,
+                          final int locales) {
+    }
+
+    /**
+     * Called before the available locales are scanned for a language tag that has no canonical {@link java.util.Locale}.
+     */
+    public Object scanBegin() {
+        return null;
+    }
+
+    public void scanEnd(final Object event,
+                        final Object languageTag,
+                        final int visited,
+                        final Object result) {
+    }
+
+    /**
+     * Called before the default locale is resolved from the system property.
+     */
+    public Object defaultBegin() {
+        return null;
+    }
+
+    public void defaultEnd(final Object event,
+                           final String languageTag,
+                           final Object result) {
+    }
+
+    /**
+     * Called when a cache bounded by size evicts the value for a key, the size is the number of entries remaining.
+     * The key should only be converted to a {@link String} by an enabled event.
+     */
+    public void cacheEviction(final String cache,
+                              final int size,
+                              final Object key) {
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.getClass().getSimpleName();
+    }
+}
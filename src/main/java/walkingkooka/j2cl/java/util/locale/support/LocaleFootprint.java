@@ -0,0 +1,268 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale.support;
+
+import javaemul.internal.annotations.GwtIncompatible;
+import walkingkooka.j2cl.java.io.string.StringDataInputDataOutput;
+import walkingkooka.j2cl.locale.WalkingkookaLanguageTag;
+import walkingkooka.text.CharSequences;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A report measuring the actual encoded locale data, typically {@code LocaleProvider.DATA}, written by the annotation
+ * processor, intended to be logged as JSON and checked against a budget when tuning a locale selection.
+ * <ul>
+ * <li>{@link #chars()} the characters of the encoded data</li>
+ * <li>{@link #total()} the UTF-8 bytes of the encoded data, which is approximately what it adds to a bundle</li>
+ * <li>{@link #locales()} the UTF-8 bytes of each decoded language tag</li>
+ * <li>{@link #subtags()} the number of distinct decoded subtags in each category</li>
+ * <li>{@link #subtagBytes()} the UTF-8 bytes of the decoded subtags in each category, including the leading separator</li>
+ * <li>{@link #decodeWork()} an estimate of decoding as the locales plus the subtags that must be parsed</li>
+ * </ul>
+ * The per locale and per category bytes are measured before any sharing by the encoding, so they may add up to more
+ * than {@link #total()}, but show which locales and categories cost the most.
+ */
+@GwtIncompatible
+public final class LocaleFootprint {
+
+    public final static String LANGUAGE = "language";
+
+    public final static String SCRIPT = "script";
+
+    public final static String COUNTRY = "country";
+
+    public final static String VARIANT = "variant";
+
+    /**
+     * The system property holding an optional budget in bytes, used by builds to fail when the data grows too large.
+     */
+    public final static String BUDGET_PROPERTY = "locale.data.budget";
+
+    /**
+     * Decodes and measures the given encoded locale data.
+     */
+    public static LocaleFootprint with(final String data) {
+        Objects.requireNonNull(data, "data");
+
+        final Collection<WalkingkookaLanguageTag> tags;
+        try {
+            tags = WalkingkookaLanguageTag.decode(StringDataInputDataOutput.input(data));
+        } catch (final IOException cause) {
+            throw new IllegalArgumentException("Invalid locale data: " + cause.getMessage(), cause);
+        }
+
+        final Map<String, Integer> locales = new LinkedHashMap<>();
+
+        final Map<String, Set<String>> distinct = new LinkedHashMap<>();
+        final Map<String, Integer> subtagBytes = new LinkedHashMap<>();
+        for (final String category : new String[]{LANGUAGE, SCRIPT, COUNTRY, VARIANT}) {
+            distinct.put(category, new HashSet<>());
+            subtagBytes.put(category, 0);
+        }
+
+        int decodeWork = tags.size();
+
+        for (final WalkingkookaLanguageTag tag : tags) {
+            final StringBuilder languageTag = new StringBuilder();
+
+            decodeWork += subtag(LANGUAGE, tag.language(), languageTag, distinct, subtagBytes) +
+                    subtag(SCRIPT, tag.script(), languageTag, distinct, subtagBytes) +
+                    subtag(COUNTRY, tag.country(), languageTag, distinct, subtagBytes) +
+                    subtag(VARIANT, tag.variant(), languageTag, distinct, subtagBytes);
+
+            locales.put(languageTag.toString(), utf8(languageTag));
+        }
+
+        final Map<String, Integer> subtags = new LinkedHashMap<>();
+        for (final Map.Entry<String, Set<String>> category : distinct.entrySet()) {
+            subtags.put(category.getKey(), category.getValue().size());
+        }
+
+        return new LocaleFootprint(
+                data.length(),
+                utf8(data),
+                Collections.unmodifiableMap(locales),
+                Collections.unmodifiableMap(subtags),
+                Collections.unmodifiableMap(subtagBytes),
+                decodeWork
+        );
+    }
+
+    /**
+     * Records a non empty subtag, appending it and its separator to the language tag, returning 1 if it was present.
+     */
+    private static int subtag(final String category,
+                              final String subtag,
+                              final StringBuilder languageTag,
+                              final Map<String, Set<String>> distinct,
+                              final Map<String, Integer> subtagBytes) {
+        final boolean present = null != subtag && subtag.length() > 0;
+        if (present) {
+            final int separator = languageTag.length() > 0 ? 1 : 0;
+            if (separator > 0) {
+                languageTag.append('-');
+            }
+            languageTag.append(subtag);
+
+            distinct.get(category).add(subtag);
+            subtagBytes.put(category, subtagBytes.get(category) + separator + utf8(subtag));
+        }
+        return present ? 1 : 0;
+    }
+
+    private static int utf8(final CharSequence text) {
+        return text.toString().getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private LocaleFootprint(final int chars,
+                            final int total,
+                            final Map<String, Integer> locales,
+                            final Map<String, Integer> subtags,
+                            final Map<String, Integer> subtagBytes,
+                            final int decodeWork) {
+        super();
+        this.chars = chars;
+        this.total = total;
+        this.locales = locales;
+        this.subtags = subtags;
+        this.subtagBytes = subtagBytes;
+        this.decodeWork = decodeWork;
+    }
+
+    public int chars() {
+        return this.chars;
+    }
+
+    private final int chars;
+
+    public int total() {
+        return this.total;
+    }
+
+    private final int total;
+
+    /**
+     * The bytes of each language tag, in the order decoded.
+     */
+    public Map<String, Integer> locales() {
+        return this.locales;
+    }
+
+    private final Map<String, Integer> locales;
+
+    public Map<String, Integer> subtags() {
+        return this.subtags;
+    }
+
+    private final Map<String, Integer> subtags;
+
+    public Map<String, Integer> subtagBytes() {
+        return this.subtagBytes;
+    }
+
+    private final Map<String, Integer> subtagBytes;
+
+    public int decodeWork() {
+        return this.decodeWork;
+    }
+
+    private final int decodeWork;
+
+    /**
+     * Fails if the {@link #total()} exceeds the budget, so a build may fail when the data grows too large.
+     */
+    public void checkBudget(final int budget) {
+        if (budget < 0) {
+            throw new IllegalArgumentException("Invalid budget " + budget + " < 0");
+        }
+        if (this.total > budget) {
+            throw new IllegalStateException("Locale data " + this.total + " bytes exceeds budget " + budget + " bytes");
+        }
+    }
+
+    /**
+     * Checks the budget held by the {@link #BUDGET_PROPERTY} system property, doing nothing if it is absent or empty.
+     */
+    public void checkBudget() {
+        final String budget = System.getProperty(BUDGET_PROPERTY, "").trim();
+        if (budget.length() > 0) {
+            final int value;
+            try {
+                value = Integer.parseInt(budget);
+            } catch (final NumberFormatException cause) {
+                throw new IllegalArgumentException("Invalid " + BUDGET_PROPERTY + " " + CharSequences.quoteAndEscape(budget), cause);
+            }
+            this.checkBudget(value);
+        }
+    }
+
+    /**
+     * Returns a single line JSON object holding the entire report.
+     */
+    public String toJson() {
+        final StringBuilder json = new StringBuilder();
+
+        json.append("{\"chars\":")
+                .append(this.chars)
+                .append(",\"total\":")
+                .append(this.total)
+                .append(",\"decodeWork\":")
+                .append(this.decodeWork);
+
+        json(",\"subtags\":", this.subtags, json);
+        json(",\"subtagBytes\":", this.subtagBytes, json);
+        json(",\"locales\":", this.locales, json);
+
+        return json.append('}')
+                .toString();
+    }
+
+    private static void json(final String label,
+                             final Map<String, Integer> values,
+                             final StringBuilder json) {
+        json.append(label)
+                .append('{');
+
+        String separator = "";
+        for (final Map.Entry<String, Integer> value : values.entrySet()) {
+            json.append(separator)
+                    .append(CharSequences.quoteAndEscape(value.getKey()))
+                    .append(':')
+                    .append(value.getValue());
+            separator = ",";
+        }
+
+        json.append('}');
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.toJson();
+    }
+}
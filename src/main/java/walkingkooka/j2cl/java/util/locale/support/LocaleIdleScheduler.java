@@ -0,0 +1,59 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale.support;
+
+import jsinterop.annotations.JsFunction;
+import jsinterop.annotations.JsMethod;
+import jsinterop.annotations.JsPackage;
+import jsinterop.annotations.JsProperty;
+
+/**
+ * Schedules a task when the browser is idle, using requestIdleCallback when available otherwise setTimeout.
+ * Only used by J2CL, the JVM replaces {@link LocalePlatform#scheduler} with a background thread.
+ */
+final class LocaleIdleScheduler {
+
+    static void schedule(final Runnable task) {
+        final IdleCallback callback = (deadline) -> task.run();
+
+        if (null != getRequestIdleCallback()) {
+            requestIdleCallback(callback);
+        } else {
+            setTimeout(callback, 0);
+        }
+    }
+
+    @JsFunction
+    interface IdleCallback {
+        void onIdle(final Object deadline);
+    }
+
+    @JsProperty(namespace = JsPackage.GLOBAL, name = "requestIdleCallback")
+    private static native Object getRequestIdleCallback();
+
+    @JsMethod(namespace = JsPackage.GLOBAL, name = "requestIdleCallback")
+    private static native double requestIdleCallback(final IdleCallback callback);
+
+    @JsMethod(namespace = JsPackage.GLOBAL, name = "setTimeout")
+    private static native double setTimeout(final IdleCallback callback,
+                                            final double delay);
+
+    private LocaleIdleScheduler() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale.support;
+
+import javaemul.internal.annotations.GwtIncompatible;
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JVM only {@link LocaleEvents} recording Java Flight Recorder events. Each event type is tested with a shared
+ * instance before anything is created, so disabled events cost a single check.
+ */
+@GwtIncompatible
+final class LocaleJfrEvents extends LocaleEvents {
+
+    static LocaleJfrEvents create() {
+        return new LocaleJfrEvents();
+    }
+
+    private LocaleJfrEvents() {
+        super();
+    }
+
+    @Override
+    public Object decodeBegin() {
+        return begin(DECODE.isEnabled() ? new DecodeEvent() : null);
+    }
+
+    @Override
+    public void decodeEnd(final Object event,
+                          final int locales) {
+        if (null != event) {
+            final DecodeEvent decode = (DecodeEvent) event;
+            decode.locales = locales;
+            decode.commit();
+        }
+    }
+
+    @Override
+    public Object scanBegin() {
+        return begin(SCAN.isEnabled() ? new ScanEvent() : null);
+    }
+
+    @Override
+    public void scanEnd(final Object event,
+                        final Object languageTag,
+                        final int visited,
+                        final Object result) {
+        if (null != event) {
+            final ScanEvent scan = (ScanEvent) event;
+            scan.languageTag = String.valueOf(languageTag);
+            scan.visited = visited;
+            scan.result = String.valueOf(result);
+            scan.commit();
+        }
+    }
+
+    @Override
+    public Object defaultBegin() {
+        return begin(DEFAULT.isEnabled() ? new DefaultEvent() : null);
+    }
+
+    @Override
+    public void defaultEnd(final Object event,
+                           final String languageTag,
+                           final Object result) {
+        if (null != event) {
+            final DefaultEvent resolve = (DefaultEvent) event;
+            resolve.languageTag = languageTag;
+            resolve.result = String.valueOf(result);
+            resolve.commit();
+        }
+    }
+
+    @Override
+    public void cacheEviction(final String cache,
+                              final int size,
+                              final Object key) {
+        if (CACHE_EVICTION.isEnabled()) {
+            final CacheEvictionEvent eviction = new CacheEvictionEvent();
+            eviction.cache = cache;
+            eviction.size = size;
+            eviction.key = String.valueOf(key);
+            eviction.commit();
+        }
+    }
+
+    private static Event begin(final Event event) {
+        if (null != event) {
+            event.begin();
+        }
+        return event;
+    }
+
+    final static DecodeEvent DECODE = new DecodeEvent();
+
+    final static ScanEvent SCAN = new ScanEvent();
+
+    final static DefaultEvent DEFAULT = new DefaultEvent();
+
+    final static CacheEvictionEvent CACHE_EVICTION = new CacheEvictionEvent();
+
+    @Name("walkingkooka.locale.Decode")
+    @Label("Locale Decode")
+    @Category({"walkingkooka", "Locale"})
+    static final class DecodeEvent extends Event {
+
+        @Label("Locales")
+        int locales;
+    }
+
+    @Name("walkingkooka.locale.Scan")
+    @Label("Locale Scan")
+    @Category({"walkingkooka", "Locale"})
+    static final class ScanEvent extends Event {
+
+        @Label("Language Tag")
+        String languageTag;
+
+        @Label("Visited")
+        int visited;
+
+        @Label("Result")
+        String result;
+    }
+
+    @Name("walkingkooka.locale.Default")
+    @Label("Locale Default")
+    @Category({"walkingkooka", "Locale"})
+    static final class DefaultEvent extends Event {
+
+        @Label("Language Tag")
+        String languageTag;
+
+        @Label("Result")
+        String result;
+    }
+
+    @Name("walkingkooka.locale.CacheEviction")
+    @Label("Locale Cache Eviction")
+    @Category({"walkingkooka", "Locale"})
+    static final class CacheEvictionEvent extends Event {
+
+        @Label("Cache")
+        String cache;
+
+        @Label("Size")
+        int size;
+
+        @Label("Key")
+        String key;
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale.support;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Finds the best supported {@link Locale} for a list of desired locales, such as those from an Accept-Language header,
+ * using a simplified CLDR distance.
+ * <ul>
+ * <li>Locales are compared after {@link LikelySubtags#addLikelySubtags(Locale)}, so zh-TW matches zh-Hant.</li>
+ * <li>Different languages never match.</li>
+ * <li>A different script costs {@link #SCRIPT_DISTANCE}, a different country {@link #COUNTRY_DISTANCE} and a different variant {@link #VARIANT_DISTANCE}.</li>
+ * <li>Each desired locale costs {@link #DESIRED_DEMOTION} more than the one before it.</li>
+ * <li>Matches with a total distance of {@link #MAX_DISTANCE} or more are ignored, so a different script never matches.</li>
+ * </ul>
+ * Ties are won by the supported locale given first. Supported locales are grouped by language when the matcher is
+ * built and the best match for each desired list is cached. Matches are computed outside the cache lock, so
+ * concurrent callers may compute the same match, with the first published shared.
+ */
+public final class LocaleMatcher {
+
+    final static int SCRIPT_DISTANCE = 40;
+
+    final static int COUNTRY_DISTANCE = 4;
+
+    final static int VARIANT_DISTANCE = 1;
+
+    final static int DESIRED_DEMOTION = 5;
+
+    final static int MAX_DISTANCE = SCRIPT_DISTANCE;
+
+    /**
+     * The maximum number of cached desired lists.
+     */
+    private final static int MAX = 64;
+
+    public static LocaleMatcher with(final Collection<Locale> supported) {
+        Objects.requireNonNull(supported, "supported");
+
+        final Map<String, List<Candidate>> languageToCandidates = new HashMap<>();
+
+        for (final Locale locale : supported) {
+            Objects.requireNonNull(locale, "supported includes null");
+
+            final Locale max = LikelySubtags.addLikelySubtags(locale);
+            languageToCandidates.computeIfAbsent(max.getLanguage(), (l) -> new ArrayList<>())
+                    .add(new Candidate(locale, max));
+        }
+
+        return new LocaleMatcher(languageToCandidates);
+    }
+
+    private LocaleMatcher(final Map<String, List<Candidate>> languageToCandidates) {
+        super();
+        this.languageToCandidates = languageToCandidates;
+        this.cache = new LinkedHashMap<List<Locale>, Optional<Locale>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<List<Locale>, Optional<Locale>> eldest) {
+                final boolean evict = this.size() > MAX;
+                if (evict) {
+                    LocaleEvents.instance()
+                            .cacheEviction("LocaleMatcher", MAX, eldest.getKey());
+                }
+                return evict;
+            }
+        };
+    }
+
+    /**
+     * Returns the best supported {@link Locale} for the given desired locales, which should be in order of preference.
+     */
+    public Optional<Locale> bestMatch(final List<Locale> desired) {
+        Objects.requireNonNull(desired, "desired");
+
+        final Map<List<Locale>, Optional<Locale>> cache = this.cache;
+
+        Optional<Locale> match;
+        synchronized (cache) {
+            match = cache.get(desired);
+        }
+
+        if (null == match) {
+            final List<Locale> copy = new ArrayList<>(desired);
+            final Optional<Locale> computed = this.bestMatch0(copy);
+
+            synchronized (cache) {
+                match = cache.putIfAbsent(copy, computed);
+            }
+            if (null == match) {
+                match = computed;
+            }
+        }
+
+        return match;
+    }
+
+    private Optional<Locale> bestMatch0(final List<Locale> desired) {
+        Candidate best = null;
+        int bestDistance = MAX_DISTANCE;
+        int demotion = 0;
+
+        for (final Locale locale : desired) {
+            if (demotion >= bestDistance) {
+                break;
+            }
+
+            final Locale max = LikelySubtags.addLikelySubtags(
+                    Objects.requireNonNull(locale, "desired includes null")
+            );
+            final List<Candidate> candidates = this.languageToCandidates.get(max.getLanguage());
+
+            if (null != candidates) {
+                for (final Candidate candidate : candidates) {
+                    final int distance = demotion + candidate.distance(max);
+                    if (distance < bestDistance) {
+                        best = candidate;
+                        bestDistance = distance;
+                    }
+                }
+            }
+
+            demotion += DESIRED_DEMOTION;
+        }
+
+        return null != best ?
+                Optional.of(best.supported) :
+                Optional.empty();
+    }
+
+    /**
+     * Supported locales grouped by the language of their maximized form.
+     */
+    private final Map<String, List<Candidate>> languageToCandidates;
+
+    /**
+     * Least recently used cache of previous desired lists and their best match.
+     */
+    private final Map<List<Locale>, Optional<Locale>> cache;
+
+    /**
+     * A supported {@link Locale} along with its maximized form.
+     */
+    private final static class Candidate {
+
+        Candidate(final Locale supported,
+                  final Locale max) {
+            super();
+            this.supported = supported;
+            this.max = max;
+        }
+
+        /**
+         * Both locales are maximized and have the same language.
+         */
+        int distance(final Locale desired) {
+            final Locale max = this.max;
+
+            return (max.getScript().equals(desired.getScript()) ? 0 : SCRIPT_DISTANCE) +
+                    (max.getCountry().equals(desired.getCountry()) ? 0 : COUNTRY_DISTANCE) +
+                    (max.getVariant().equals(desired.getVariant()) ? 0 : VARIANT_DISTANCE);
+        }
+
+        final Locale supported;
+
+        final Locale max;
+
+        @Override
+        public String toString() {
+            return this.supported.toString();
+        }
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.languageToCandidates.toString();
+    }
+}
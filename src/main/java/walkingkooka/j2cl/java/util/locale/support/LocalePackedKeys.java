@@ -0,0 +1,143 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale.support;
+
+import walkingkooka.reflect.PublicStaticHelper;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Packs the language, script and country of a {@link Locale} into a single non negative long.
+ * <pre>
+ * bits 0-14   language, up to 3 letters, 5 bits each
+ * bits 15-34  script, 4 letters, 5 bits each
+ * bits 35-45  country, 2 letters or a 3 digit UN M.49 region with bit 45 set
+ * </pre>
+ * Locales with a variant or components that do not fit, such as a 5-8 letter language, return {@link #NOT_PACKED}.
+ */
+public final class LocalePackedKeys implements PublicStaticHelper {
+
+    /**
+     * Returned for locales that cannot be packed.
+     */
+    public final static long NOT_PACKED = -1;
+
+    public static long pack(final Locale locale) {
+        Objects.requireNonNull(locale, "locale");
+
+        return pack(locale.getLanguage(),
+                locale.getScript(),
+                locale.getCountry(),
+                locale.getVariant());
+    }
+
+    /**
+     * Packs the given components ignoring case, returning {@link #NOT_PACKED} if any component does not fit.
+     */
+    public static long pack(final String language,
+                            final String script,
+                            final String country,
+                            final String variant) {
+        long packed = NOT_PACKED;
+
+        if (variant.isEmpty()) {
+            final long packedLanguage = letters(language, 0, 3);
+            final long packedScript = letters(script, 4, 4);
+            final long packedCountry = country(country);
+
+            if (NOT_PACKED != packedLanguage && NOT_PACKED != packedScript && NOT_PACKED != packedCountry) {
+                packed = packedLanguage |
+                        packedScript << SCRIPT_SHIFT |
+                        packedCountry << COUNTRY_SHIFT;
+            }
+        }
+
+        return packed;
+    }
+
+    private final static int SCRIPT_SHIFT = 15;
+
+    private final static int COUNTRY_SHIFT = 35;
+
+    /**
+     * Letters are encoded as 1 to 26, leaving 0 to mark the absence of a letter.
+     */
+    private static long letters(final String text,
+                                final int min,
+                                final int max) {
+        final int length = text.length();
+
+        long packed = NOT_PACKED;
+
+        if (0 == length || length >= min && length <= max) {
+            packed = 0;
+
+            for (int i = 0; i < length; i++) {
+                final int letter = letter(text.charAt(i));
+                if (-1 == letter) {
+                    packed = NOT_PACKED;
+                    break;
+                }
+                packed |= (long) letter << (5 * i);
+            }
+        }
+
+        return packed;
+    }
+
+    private static int letter(final char c) {
+        return c >= 'a' && c <= 'z' ?
+                c - 'a' + 1 :
+                c >= 'A' && c <= 'Z' ?
+                        c - 'A' + 1 :
+                        -1;
+    }
+
+    private static long country(final String country) {
+        return 3 == country.length() ?
+                region(country) :
+                letters(country, 2, 2);
+    }
+
+    /**
+     * Regions such as 001 or 419 are packed into the lower 10 bits with the 11th bit set.
+     */
+    private static long region(final String region) {
+        long packed = 0;
+
+        for (int i = 0; i < 3; i++) {
+            final char c = region.charAt(i);
+            if (c < '0' || c > '9') {
+                packed = NOT_PACKED;
+                break;
+            }
+            packed = packed * 10 + (c - '0');
+        }
+
+        return NOT_PACKED == packed ?
+                NOT_PACKED :
+                packed | REGION_BIT;
+    }
+
+    private final static long REGION_BIT = 1 << 10;
+
+    private LocalePackedKeys() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale.support;
+
+import walkingkooka.Cast;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * An open addressing map keyed by the {@link LocalePackedKeys#pack(Locale)} of a {@link Locale}, avoiding boxing and
+ * string comparisons. Locales that cannot be packed are held in a regular {@link HashMap}.
+ * Locales with the same packed key, such as HE and IW, share a single entry. This class is not thread safe.
+ */
+public final class LocalePackedMap<V> {
+
+    public static <V> LocalePackedMap<V> empty() {
+        return new LocalePackedMap<>();
+    }
+
+    private LocalePackedMap() {
+        super();
+        this.allocate(INITIAL_CAPACITY);
+    }
+
+    public V get(final Locale locale) {
+        Objects.requireNonNull(locale, "locale");
+
+        final long packed = LocalePackedKeys.pack(locale);
+        return LocalePackedKeys.NOT_PACKED == packed ?
+                this.overflowGet(locale) :
+                this.get(packed);
+    }
+
+    /**
+     * Fetches the value for a key previously packed by {@link LocalePackedKeys#pack(Locale)}.
+     */
+    public V get(final long packed) {
+        V value = null;
+
+        if (LocalePackedKeys.NOT_PACKED != packed) {
+            final int index = this.index(packed);
+            if (-1 != index) {
+                value = Cast.to(this.values[index]);
+            }
+        }
+
+        return value;
+    }
+
+    public V put(final Locale locale,
+                 final V value) {
+        Objects.requireNonNull(locale, "locale");
+        Objects.requireNonNull(value, "value");
+
+        final long packed = LocalePackedKeys.pack(locale);
+        return LocalePackedKeys.NOT_PACKED == packed ?
+                this.overflowPut(locale, value) :
+                this.put0(packed, value);
+    }
+
+    /**
+     * Stores a value for a key previously packed by {@link LocalePackedKeys#pack(Locale)}.
+     */
+    public V put(final long packed,
+                 final V value) {
+        if (LocalePackedKeys.NOT_PACKED == packed) {
+            throw new IllegalArgumentException("Invalid packed key " + packed);
+        }
+        Objects.requireNonNull(value, "value");
+
+        return this.put0(packed, value);
+    }
+
+    private V put0(final long packed,
+                   final V value) {
+        final long[] keys = this.keys;
+        final int mask = keys.length - 1;
+
+        int i = hash(packed) & mask;
+        while (EMPTY != keys[i]) {
+            if (packed == keys[i]) {
+                final V previous = Cast.to(this.values[i]);
+                this.values[i] = value;
+                return previous;
+            }
+            i = (i + 1) & mask;
+        }
+
+        keys[i] = packed;
+        this.values[i] = value;
+        this.packedSize++;
+
+        if (this.packedSize * 2 > keys.length) {
+            this.resize();
+        }
+        return null;
+    }
+
+    public V remove(final Locale locale) {
+        Objects.requireNonNull(locale, "locale");
+
+        final long packed = LocalePackedKeys.pack(locale);
+        return LocalePackedKeys.NOT_PACKED == packed ?
+                this.overflowRemove(locale) :
+                this.remove0(packed);
+    }
+
+    /**
+     * Removes the entry and shifts any following entries in the same probe sequence back, so no tombstones are required.
+     */
+    private V remove0(final long packed) {
+        V previous = null;
+
+        int index = this.index(packed);
+        if (-1 != index) {
+            final long[] keys = this.keys;
+            final Object[] values = this.values;
+            final int mask = keys.length - 1;
+
+            previous = Cast.to(values[index]);
+
+            int next = (index + 1) & mask;
+            while (EMPTY != keys[next]) {
+                final int home = hash(keys[next]) & mask;
+
+                // move the entry if its home slot is not between the hole and its current slot
+                if (index <= next ?
+                        home <= index || home > next :
+                        home <= index && home > next) {
+                    keys[index] = keys[next];
+                    values[index] = values[next];
+                    index = next;
+                }
+                next = (next + 1) & mask;
+            }
+
+            keys[index] = EMPTY;
+            values[index] = null;
+            this.packedSize--;
+        }
+
+        return previous;
+    }
+
+    public int size() {
+        final Map<Locale, V> overflow = this.overflow;
+        return this.packedSize +
+                (null == overflow ? 0 : overflow.size());
+    }
+
+    public void clear() {
+        this.allocate(INITIAL_CAPACITY);
+        this.packedSize = 0;
+        this.overflow = null;
+    }
+
+    private int index(final long packed) {
+        final long[] keys = this.keys;
+        final int mask = keys.length - 1;
+
+        int index = -1;
+        int i = hash(packed) & mask;
+
+        for (; ; ) {
+            final long key = keys[i];
+            if (packed == key) {
+                index = i;
+                break;
+            }
+            if (EMPTY == key) {
+                break;
+            }
+            i = (i + 1) & mask;
+        }
+
+        return index;
+    }
+
+    private void resize() {
+        final long[] keys = this.keys;
+        final Object[] values = this.values;
+
+        this.allocate(keys.length * 2);
+        this.packedSize = 0;
+
+        final int length = keys.length;
+        for (int i = 0; i < length; i++) {
+            final long key = keys[i];
+            if (EMPTY != key) {
+                this.put0(key, Cast.to(values[i]));
+            }
+        }
+    }
+
+    private void allocate(final int capacity) {
+        final long[] keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+
+        this.keys = keys;
+        this.values = new Object[capacity];
+    }
+
+    private static int hash(final long packed) {
+        final int hash = (int) (packed ^ (packed >>> 32)) * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Packed keys are never negative so {@link LocalePackedKeys#NOT_PACKED} also marks an empty slot.
+     */
+    private final static long EMPTY = LocalePackedKeys.NOT_PACKED;
+
+    /**
+     * Must be a power of two.
+     */
+    private final static int INITIAL_CAPACITY = 16;
+
+    private long[] keys;
+
+    private Object[] values;
+
+    private int packedSize;
+
+    // overflow.........................................................................................................
+
+    private V overflowGet(final Locale locale) {
+        final Map<Locale, V> overflow = this.overflow;
+        return null == overflow ?
+                null :
+                overflow.get(locale);
+    }
+
+    private V overflowPut(final Locale locale,
+                          final V value) {
+        Map<Locale, V> overflow = this.overflow;
+        if (null == overflow) {
+            overflow = new HashMap<>();
+            this.overflow = overflow;
+        }
+        return overflow.put(locale, value);
+    }
+
+    private V overflowRemove(final Locale locale) {
+        final Map<Locale, V> overflow = this.overflow;
+        return null == overflow ?
+                null :
+                overflow.remove(locale);
+    }
+
+    /**
+     * Lazily created holder for locales that cannot be packed.
+     */
+    private Map<Locale, V> overflow;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return "size: " + this.size();
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package walkingkooka.j2cl.java.util.locale.support;
+
+import javaemul.internal.annotations.GwtIncompatible;
+
+import java.util.Locale;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Holds every platform specific hook used by the support package. Each starts as the J2CL implementation, and
+ * {@link #installJvm()} replaces them all with the JVM implementations. {@link #JVM} is the only initializer in the
+ * package that installs anything, J2CL strips it along with {@link #installJvm()}.
+ */
+final class LocalePlatform {
+
+    /**
+     * Returned by {@link LocaleEvents#instance()}, which does nothing on J2CL.
+     */
+    static LocaleEvents events = new LocaleEvents();
+
+    /**
+     * Runs the {@link LocalePrewarm#prewarm()} task, on J2CL when the browser is next idle.
+     */
+    static Consumer<Runnable> scheduler = LocaleIdleScheduler::schedule;
+
+    /**
+     * Reads and replaces the current {@link LocaleDefaults} scope. J2CL is single threaded so a field is enough.
+     */
+    static Supplier<LocaleDefaults.Scope> scopeGetter = () -> LocalePlatform.scope;
+
+    static Consumer<LocaleDefaults.Scope> scopeSetter = (scope) -> LocalePlatform.scope = scope;
+
+    private static LocaleDefaults.Scope scope;
+
+    /**
+     * Sets the default for {@link LocaleDefaults#setDefault(Locale)}. On J2CL the emulated {@link Locale} reports
+     * changes itself.
+     */
+    static Consumer<Locale> defaultSetter = Locale::setDefault;
+
+    static BiConsumer<Locale.Category, Locale> categoryDefaultSetter = Locale::setDefault;
+
+    /**
+     * Declared after the J2CL hooks so it runs last and replaces them.
+     */
+    @GwtIncompatible
+    private final static boolean JVM = installJvm();
+
+    /**
+     * Installs {@link LocaleJfrEvents}, a daemon thread for prewarming, a {@link ThreadLocal} for scoped defaults,
+     * which also isolates virtual threads, and default setters that report changes the JDK {@link Locale} does not.
+     */
+    @GwtIncompatible
+    private static boolean installJvm() {
+        events = LocaleJfrEvents.create();
+
+        scheduler = (task) -> {
+            final Thread thread = new Thread(task, "LocalePrewarm");
+            thread.setDaemon(true);
+            thread.start();
+        };
+
+        final ThreadLocal<LocaleDefaults.Scope> threadLocal = new ThreadLocal<>();
+        scopeGetter = threadLocal::get;
+        scopeSetter = (scope) -> {
+            if (null == scope) {
+                threadLocal.remove();
+            } else {
+                threadLocal.set(scope);
+            }
+        };
+
+        defaultSetter = LocaleDefaults::setDefaultJvm;
+        categoryDefaultSetter = LocaleDefaults::setDefaultJvm;
+
+        return true;
+    }
+
+    private LocalePlatform() {
+        throw new UnsupportedOperationException();
+    }
+}
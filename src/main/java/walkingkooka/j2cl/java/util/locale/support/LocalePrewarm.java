@@ -0,0 +1,46 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale.support;
+
+import walkingkooka.reflect.PublicStaticHelper;
+
+import java.util.Locale;
+
+/**
+ * Starts decoding the {@link Locale#getAvailableLocales()} off the critical path.
+ */
+public final class LocalePrewarm implements PublicStaticHelper {
+
+    /**
+     * Schedules {@link Locale#getAvailableLocales()}, returning immediately. On the JVM this happens on a background
+     * thread, on J2CL when the browser is next idle. Calls after the first do nothing.
+     */
+    public static synchronized void prewarm() {
+        if (false == scheduled) {
+            scheduled = true;
+            LocalePlatform.scheduler.accept(Locale::getAvailableLocales);
+        }
+    }
+
+    // @VisibleForTesting
+    static boolean scheduled;
+
+    private LocalePrewarm() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -30,10 +30,14 @@ import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 public final class LocaleSupport implements PublicStaticHelper {
 
+    /**
+     * Reads a language tag written by {@link #write(Locale, DataOutput)}. The emulated {@link Locale#forLanguageTag(String)}
+     * keeps a tag already in canonical form and only parses it when a component is first required, so a read followed
+     * by a write never parses.
+     */
     public static Locale read(final DataInput data) throws IOException {
         return Locale.forLanguageTag(data.readUTF());
     }
@@ -68,14 +72,29 @@ public final class LocaleSupport implements PublicStaticHelper {
                                        final DataOutput data,
                                        final String label,
                                        final IndentingPrinter comments) throws IOException {
-        comments.lineStart();
-        comments.print(label + "=" + locales.stream()
-                .map(Locale::toLanguageTag)
-                .collect(Collectors.joining(", ")));
-
+        generateComments(locales, label, comments);
         writeLocales(locales, data);
     }
 
+    @GwtIncompatible
+    static void generateComments(final Set<Locale> locales,
+                                 final String label,
+                                 final IndentingPrinter comments) {
+        final StringBuilder b = new StringBuilder();
+        b.append(label)
+                .append('=');
+
+        String separator = "";
+        for (final Locale locale : locales) {
+            b.append(separator)
+                    .append(locale.toLanguageTag());
+            separator = ", ";
+        }
+
+        comments.lineStart();
+        comments.print(b.toString());
+    }
+
     public static void writeLocales(final Set<Locale> locales,
                                     final DataOutput data) throws IOException {
         data.writeInt(locales.size());
@@ -85,6 +104,44 @@ public final class LocaleSupport implements PublicStaticHelper {
         }
     }
 
+    /**
+     * Writes a non negative int 7 bits at a time, least significant first, with the high bit set on every byte but the
+     * last, so the small counts and indices written by {@link LocaleDictionaryWriter} take a single byte.
+     */
+    static void writeVarint(final int value,
+                            final DataOutput data) throws IOException {
+        if (value < 0) {
+            throw new IllegalArgumentException("Invalid value " + value + " < 0");
+        }
+
+        int remaining = value;
+        while (remaining > 0x7f) {
+            data.writeByte(0x80 | (remaining & 0x7f));
+            remaining = remaining >>> 7;
+        }
+        data.writeByte(remaining);
+    }
+
+    /**
+     * Reads an int written by {@link #writeVarint(int, DataOutput)}.
+     */
+    static int readVarint(final DataInput data) throws IOException {
+        int value = 0;
+
+        for (int shift = 0; shift < 32; shift += 7) {
+            final int b = data.readUnsignedByte();
+            value |= (b & 0x7f) << shift;
+            if (0 == (b & 0x80)) {
+                if (value < 0) {
+                    throw new IOException("Invalid varint " + value + " < 0");
+                }
+                return value;
+            }
+        }
+
+        throw new IOException("Invalid varint longer than 5 bytes");
+    }
+
     /**
      * Returns the alternate form for the given {@link Locale} if one would exist in a JVM and has been included by the relevant provider.
      * Examples include:
@@ -100,23 +157,24 @@ public final class LocaleSupport implements PublicStaticHelper {
 
         final Optional<Locale> alternative;
 
-        switch (locale.toString()) {
-            case "nn_NO":
-                alternative = includeNorway ?
-                        tryLocaleForLanguageTag("no-no-ny") :
+        // switch on the language rather than toString, which would allocate for every locale
+        final String language = locale.getLanguage();
+        switch (language) {
+            case "nn":
+                alternative = includeNorway && isNorway(locale, "") ?
+                        tryForLanguageTag("no-no-ny") :
                         Optional.empty();
                 break;
-            case "no_NO_NY":
-                alternative = includeNorway ?
-                        tryLocaleForLanguageTag("nn-no") :
+            case "no":
+                alternative = includeNorway && isNorway(locale, "NY") ?
+                        tryForLanguageTag("nn-no") :
                         Optional.empty();
                 break;
             default:
                 // might be one of the other specials like HE or IW.
-                final String language = locale.getLanguage();
                 final String newLanguage = WalkingkookaLanguageTag.oldToNewLanguage(language);
                 if (false == language.isEmpty() && false == language.equals(newLanguage)) {
-                    alternative = tryLocaleForLanguageTag(newLanguage + locale.toLanguageTag().substring(language.length()));// replace $oldLanguage with $newLanguage
+                    alternative = tryForLanguageTag(newLanguage + locale.toLanguageTag().substring(language.length()));// replace $oldLanguage with $newLanguage
                 } else {
                     alternative = Optional.empty();
                 }
@@ -126,19 +184,106 @@ public final class LocaleSupport implements PublicStaticHelper {
         return alternative;
     }
 
+    /**
+     * Matches nn_NO and no_NO_NY, the only Norway locales with an alternative.
+     */
+    private static boolean isNorway(final Locale locale,
+                                    final String variant) {
+        return "NO".equals(locale.getCountry()) &&
+                variant.equals(locale.getVariant()) &&
+                locale.getScript().isEmpty();
+    }
+
     public final static boolean INCLUDE_NORWAY = true;
     public final static boolean IGNORE_NORWAY = false;
 
-    private static Optional<Locale> tryLocaleForLanguageTag(final String tag) {
-        Optional<Locale> alternative;
-        try {
-            alternative = Optional.of(Locale.forLanguageTag(tag));
-        } catch (final IllegalArgumentException unknownLocale) {
-            alternative = Optional.empty();
+    /**
+     * A {@link Locale#forLanguageTag(String)} for untrusted input, returning {@link Optional#empty()} rather than
+     * throwing when the language tag is malformed. Malformed tags are rejected by {@link #isLanguageTag(String)} without
+     * creating an exception, leaving the catch for well formed tags that are still rejected by
+     * {@link Locale#forLanguageTag(String)}, such as subtags in the wrong order.
+     */
+    public static Optional<Locale> tryForLanguageTag(final String languageTag) {
+        Objects.requireNonNull(languageTag, "languageTag");
+
+        Optional<Locale> locale;
+
+        if (languageTag.isEmpty()) {
+            locale = Optional.of(Locale.ROOT);
+        } else {
+            locale = Optional.empty();
+
+            if (isLanguageTag(languageTag)) {
+                try {
+                    locale = Optional.of(Locale.forLanguageTag(languageTag));
+                } catch (final IllegalArgumentException invalid) {
+                    locale = Optional.empty();
+                }
+            }
         }
-        return alternative;
+        return locale;
     }
 
+    /**
+     * Tests if the text could be a language tag without throwing, so untrusted text that is obviously malformed may be
+     * rejected before it is parsed. Each hyphen separated subtag must be 1 to 8 ASCII letters or digits, and the first
+     * letters only. The order and meaning of subtags is left to the parser.
+     */
+    public static boolean isLanguageTag(final String text) {
+        Objects.requireNonNull(text, "text");
+
+        return isSubtags(text, false, true);
+    }
+
+    /**
+     * Tests if the text is one or more subtags of 1 to 8 ASCII letters or digits, separated by hyphens, or when
+     * underscores is true also underscores. When firstLetters is true the first subtag must be letters only.
+     * Shared by {@link #isLanguageTag(String)} and {@link CanonicalLocales}.
+     */
+    static boolean isSubtags(final String text,
+                             final boolean underscores,
+                             final boolean firstLetters) {
+        final int length = text.length();
+        boolean valid = length > 0;
+        int start = 0;
+
+        for (int i = 0; valid && i <= length; i++) {
+            final char c = i < length ?
+                    text.charAt(i) :
+                    SUBTAG_SEPARATOR;
+            if (SUBTAG_SEPARATOR == c || underscores && '_' == c) {
+                valid = isSubtag(text, start, i, 1, 8, true, false == firstLetters || 0 != start);
+                start = i + 1;
+            }
+        }
+
+        return valid;
+    }
+
+    /**
+     * Tests if the characters from the start to the end are min to max ASCII letters and or digits.
+     */
+    static boolean isSubtag(final String text,
+                            final int start,
+                            final int end,
+                            final int min,
+                            final int max,
+                            final boolean letters,
+                            final boolean digits) {
+        final int length = end - start;
+        boolean valid = length >= min && length <= max;
+
+        for (int i = start; valid && i < end; i++) {
+            final char c = text.charAt(i);
+            valid = letters && (c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z') ||
+                    digits && c >= '0' && c <= '9';
+        }
+
+        return valid;
+    }
+
+    private final static char SUBTAG_SEPARATOR = '-';
+
     private LocaleSupport() {
         throw new UnsupportedOperationException();
     }
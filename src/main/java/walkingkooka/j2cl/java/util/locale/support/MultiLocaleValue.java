@@ -18,33 +18,53 @@
 package walkingkooka.j2cl.java.util.locale.support;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Locale;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Predicate;
 
 public final class MultiLocaleValue<T> implements Predicate<Locale> {
 
     public static <T> T findValue(final Collection<MultiLocaleValue<T>> multi,
                                   final Locale locale) {
-        return multi.stream()
-                .filter(m -> m.test(locale))
-                .findFirst()
-                .orElseThrow(() -> new IllegalStateException("Last predicate should always return true"))
-                .value;
+        for (final MultiLocaleValue<T> m : multi) {
+            if (m.test(locale)) {
+                return m.value;
+            }
+        }
+        throw new IllegalStateException("Last predicate should always return true");
     }
 
     public static <T> MultiLocaleValue<T> with(final T value,
                                                final Predicate<Locale> locales,
                                                final boolean includeNorway) {
-        return new MultiLocaleValue<>(value, locales, includeNorway);
+        return new MultiLocaleValue<>(value, locales, null, includeNorway);
+    }
+
+    /**
+     * Creates a {@link MultiLocaleValue} matching an explicit {@link Set} of locales, which unlike a {@link Predicate}
+     * may be indexed by {@link MultiLocaleValueIndex}. The {@link Set} is copied, so later changes to it are ignored.
+     */
+    public static <T> MultiLocaleValue<T> with(final T value,
+                                               final Set<Locale> locales,
+                                               final boolean includeNorway) {
+        Objects.requireNonNull(locales, "locales");
+
+        final Set<Locale> copy = Collections.unmodifiableSet(new HashSet<>(locales));
+        return new MultiLocaleValue<>(value, copy::contains, copy, includeNorway);
     }
 
     private MultiLocaleValue(final T value,
                              final Predicate<Locale> locales,
+                             final Set<Locale> set,
                              final boolean doNorway) {
         super();
         this.value = value;
         this.locales = locales;
+        this.set = set;
         this.doNorway = doNorway;
     }
 
@@ -58,12 +78,17 @@ public final class MultiLocaleValue<T> implements Predicate<Locale> {
 
     private final Predicate<Locale> locales;
 
+    /**
+     * The {@link Set} behind {@link #locales} or null when created with a {@link Predicate}.
+     */
+    final Set<Locale> set;
+
     public final T value;
 
-    private boolean doNorway;
+    final boolean doNorway;
 
     @Override
     public String toString() {
-        return this.value + " " + this.locales;
+        return this.value + " " + (null != this.set ? this.set : this.locales);
     }
 }
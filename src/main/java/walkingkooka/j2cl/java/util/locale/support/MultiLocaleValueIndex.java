@@ -0,0 +1,96 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale.support;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Compiles a list of {@link MultiLocaleValue} into an inverted index from {@link Locale} to value, giving the same
+ * answer as {@link MultiLocaleValue#findValue(Collection, Locale)} with a single map lookup.
+ * <br>
+ * Set based values are indexed in order along with their alternatives, the first value for a {@link Locale} winning.
+ * Indexing stops at the first {@link java.util.function.Predicate} based value, it and all that follow are tested in
+ * order only when the index misses, which keeps the usual trailing "always" value working.
+ */
+public final class MultiLocaleValueIndex<T> {
+
+    public static <T> MultiLocaleValueIndex<T> with(final Collection<MultiLocaleValue<T>> multi) {
+        Objects.requireNonNull(multi, "multi");
+
+        final Map<Locale, T> index = new HashMap<>();
+        final List<MultiLocaleValue<T>> predicates = new ArrayList<>();
+
+        for (final MultiLocaleValue<T> m : multi) {
+            if (predicates.isEmpty() && null != m.set) {
+                final T value = m.value;
+
+                for (final Locale locale : m.set) {
+                    index.putIfAbsent(locale, value);
+
+                    final Optional<Locale> alternative = LocaleSupport.alternatives(locale, m.doNorway);
+                    if (alternative.isPresent()) {
+                        index.putIfAbsent(alternative.get(), value);
+                    }
+                }
+            } else {
+                predicates.add(m);
+            }
+        }
+
+        return new MultiLocaleValueIndex<>(index, predicates);
+    }
+
+    private MultiLocaleValueIndex(final Map<Locale, T> index,
+                                  final List<MultiLocaleValue<T>> predicates) {
+        super();
+        this.index = index;
+        this.predicates = predicates;
+    }
+
+    public T findValue(final Locale locale) {
+        Objects.requireNonNull(locale, "locale");
+
+        T value = this.index.get(locale);
+        if (null == value) {
+            if (this.predicates.isEmpty()) {
+                throw new IllegalStateException("Missing value for " + locale);
+            }
+            value = MultiLocaleValue.findValue(this.predicates, locale);
+        }
+        return value;
+    }
+
+    private final Map<Locale, T> index;
+
+    /**
+     * The {@link MultiLocaleValue} tested in order when {@link #index} misses.
+     */
+    private final List<MultiLocaleValue<T>> predicates;
+
+    @Override
+    public String toString() {
+        return this.index + " " + this.predicates;
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.j2cl.java.util.locale.support.LocaleSupport;
+import walkingkooka.j2cl.java.util.locale.support.MultiLocaleValue;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fails when a steady state call on a hot path allocates more than its budget. Each call is warmed up and then
+ * measured using the allocated bytes counter of the current thread, taking the lowest of several attempts so an
+ * unrelated allocation such as a deoptimization does not fail the test.
+ */
+public final class LocaleAllocationTest {
+
+    private final static int WARMUP = 20_000;
+
+    private final static int COUNT = 10_000;
+
+    private final static int ATTEMPTS = 3;
+
+    /**
+     * The budget for walking a {@link java.util.Collection}, which allocates a single {@link java.util.Iterator}.
+     */
+    private final static int ITERATOR = 32;
+
+    private final static Locale EN_AU = Locale.forLanguageTag("en-AU");
+
+    private final static Locale EN_NZ = Locale.forLanguageTag("en-NZ");
+
+    private final static java.util.Locale JRE_EN_AU = java.util.Locale.forLanguageTag("en-AU");
+
+    @Test
+    public void testGetLanguage() {
+        this.allocationAndCheck(() -> EN_AU.getLanguage().length(), 0);
+    }
+
+    @Test
+    public void testGetCountry() {
+        this.allocationAndCheck(() -> EN_AU.getCountry().length(), 0);
+    }
+
+    @Test
+    public void testToString() {
+        this.allocationAndCheck(() -> EN_AU.toString().length(), 0);
+    }
+
+    @Test
+    public void testToLanguageTag() {
+        this.allocationAndCheck(() -> EN_AU.toLanguageTag().length(), 0);
+    }
+
+    @Test
+    public void testHashCode() {
+        this.allocationAndCheck(EN_AU::hashCode, 0);
+    }
+
+    @Test
+    public void testEquals() {
+        this.allocationAndCheck(() -> EN_AU.equals(EN_NZ) ? 1 : 0, 0);
+    }
+
+    @Test
+    public void testEqualsSameTag() {
+        final Locale locale = new Locale("en", "AU");
+        this.allocationAndCheck(() -> EN_AU.equals(locale) ? 1 : 0, 0);
+    }
+
+    @Test
+    public void testForLanguageTagCached() {
+        this.allocationAndCheck(() -> Locale.forLanguageTag("en-AU").hashCode(), 0);
+    }
+
+    @Test
+    public void testAlternatives() {
+        this.allocationAndCheck(() -> LocaleSupport.alternatives(JRE_EN_AU, LocaleSupport.INCLUDE_NORWAY).isPresent() ? 1 : 0, 0);
+    }
+
+    @Test
+    public void testMultiLocaleValueFindValue() {
+        final List<MultiLocaleValue<String>> multi = Arrays.asList(
+                MultiLocaleValue.with("fr", (l) -> "fr".equals(l.getLanguage()), LocaleSupport.IGNORE_NORWAY),
+                MultiLocaleValue.with("en", (l) -> true, LocaleSupport.IGNORE_NORWAY)
+        );
+        this.allocationAndCheck(() -> MultiLocaleValue.findValue(multi, JRE_EN_AU).length(), ITERATOR);
+    }
+
+    /**
+     * Runs the task and fails if the best attempt allocated more than the budget times the number of calls, so a few
+     * bytes over the budget are not hidden by integer division.
+     */
+    private void allocationAndCheck(final IntSupplier task,
+                                    final int budget) {
+        final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        long least = Long.MAX_VALUE;
+
+        for (int attempt = 0; attempt < ATTEMPTS; attempt++) {
+            run(task, WARMUP);
+
+            final long before = threads.getCurrentThreadAllocatedBytes();
+            run(task, COUNT);
+            final long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+            least = Math.min(least, allocated);
+        }
+
+        final long allocated = least;
+        assertTrue(allocated <= (long) budget * COUNT,
+                () -> "Allocated " + allocated + " bytes for " + COUNT + " calls, budget " + budget + " per call");
+    }
+
+    private static void run(final IntSupplier task,
+                            final int count) {
+        int sink = 0;
+        for (int i = 0; i < count; i++) {
+            sink += task.getAsInt();
+        }
+        SINK = sink;
+    }
+
+    /**
+     * Keeps results alive so calls are not optimized away.
+     */
+    private static int SINK;
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures the time and allocation from first touching {@link Locale} to the first getDefault, getAvailableLocales
+ * and forLanguageTag. Each measurement loads {@link Locale} within a new {@link ClassLoader}, so class initialization
+ * and decoding are always cold. This test is only run by the startup-benchmark profile, which appends each result as a
+ * JSON line to the file named by the {@link #RESULTS} system property. The J2CL equivalent lives in the startup-benchmark
+ * invoker IT.
+ */
+public final class LocaleStartupBenchmarkTest {
+
+    private final static String RESULTS = "locale.startup.benchmark.results";
+
+    @Test
+    public void testStartup() throws Exception {
+        final String previousDefault = System.getProperty(Locale.DEFAULT_LOCALE);
+        System.setProperty(Locale.DEFAULT_LOCALE, "EN-NZ");
+
+        try (final URLClassLoader loader = IsolatedClassLoader.create()) {
+            final Class<?> type = loader.loadClass(Locale.class.getName());
+            final Method getDefault = type.getMethod("getDefault");
+            final Method getAvailableLocales = type.getMethod("getAvailableLocales");
+            final Method forLanguageTag = type.getMethod("forLanguageTag", String.class);
+
+            final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            final long threadId = Thread.currentThread().getId();
+
+            final long startNanos = System.nanoTime();
+            final long startBytes = threads.getThreadAllocatedBytes(threadId);
+
+            final Object defaultLocale = getDefault.invoke(null);
+            final long getDefaultNanos = System.nanoTime();
+            final long getDefaultBytes = threads.getThreadAllocatedBytes(threadId);
+
+            final Object available = getAvailableLocales.invoke(null);
+            final long getAvailableLocalesNanos = System.nanoTime();
+            final long getAvailableLocalesBytes = threads.getThreadAllocatedBytes(threadId);
+
+            final Object enAu = forLanguageTag.invoke(null, "EN-AU");
+            final long forLanguageTagNanos = System.nanoTime();
+            final long forLanguageTagBytes = threads.getThreadAllocatedBytes(threadId);
+
+            final int availableCount = Array.getLength(available);
+            assertNotNull(defaultLocale, "getDefault");
+            assertNotEquals(0, availableCount, "availableLocales");
+            assertEquals("en-AU", type.getMethod("toLanguageTag").invoke(enAu), "forLanguageTag");
+            assertTrue(getDefaultNanos >= startNanos, "getDefault nanos");
+            assertTrue(getAvailableLocalesNanos >= getDefaultNanos, "getAvailableLocales nanos");
+            assertTrue(forLanguageTagNanos >= getAvailableLocalesNanos, "forLanguageTag nanos");
+
+            final String json = "{\"platform\":\"jvm\"" +
+                    ",\"selection\":\"" + LocaleProvider.ANNOTATION_PROCESSOR_LOCALES_FILTER + "\"" +
+                    ",\"availableLocales\":" + availableCount +
+                    ",\"steps\":[" +
+                    step("getDefault", getDefaultNanos - startNanos, getDefaultBytes - startBytes) + "," +
+                    step("getAvailableLocales", getAvailableLocalesNanos - getDefaultNanos, getAvailableLocalesBytes - getDefaultBytes) + "," +
+                    step("forLanguageTag", forLanguageTagNanos - getAvailableLocalesNanos, forLanguageTagBytes - getAvailableLocalesBytes) +
+                    "]}\n";
+
+            final String results = System.getProperty(RESULTS);
+            assertNotNull(results, "Missing system property " + RESULTS);
+
+            final Path path = Paths.get(results);
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            Files.write(path,
+                    json.getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+        } finally {
+            if (null == previousDefault) {
+                System.clearProperty(Locale.DEFAULT_LOCALE);
+            } else {
+                System.setProperty(Locale.DEFAULT_LOCALE, previousDefault);
+            }
+        }
+    }
+
+    private static String step(final String name,
+                               final long nanos,
+                               final long allocatedBytes) {
+        return "{\"name\":\"" + name + "\",\"nanos\":" + nanos + ",\"allocatedBytes\":" + allocatedBytes + "}";
+    }
+}
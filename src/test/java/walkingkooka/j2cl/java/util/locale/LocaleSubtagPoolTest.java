@@ -0,0 +1,144 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.j2cl.locale.WalkingkookaLanguageTag;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class LocaleSubtagPoolTest implements ClassTesting2<LocaleSubtagPool> {
+
+    @Test
+    public void testInternFirst() {
+        final WalkingkookaLanguageTag tag = WalkingkookaLanguageTag.parse("en-AU");
+        assertSame(tag, LocaleSubtagPool.empty().intern(tag));
+    }
+
+    @Test
+    public void testInternSharesSubtags() {
+        final LocaleSubtagPool pool = LocaleSubtagPool.empty();
+        final WalkingkookaLanguageTag first = pool.intern(WalkingkookaLanguageTag.parse("en-AU"));
+        final WalkingkookaLanguageTag second = pool.intern(WalkingkookaLanguageTag.parse("en-NZ"));
+        final WalkingkookaLanguageTag third = pool.intern(WalkingkookaLanguageTag.parse("fr-AU"));
+
+        assertSame(first.language(), second.language(), "language");
+        assertSame(first.country(), third.country(), "country");
+    }
+
+    @Test
+    public void testInternSameComponents() {
+        final LocaleSubtagPool pool = LocaleSubtagPool.empty();
+        final WalkingkookaLanguageTag tag = WalkingkookaLanguageTag.parse("sr-Latn-RS");
+        pool.intern(WalkingkookaLanguageTag.parse("sr-Latn-RS"));
+
+        final WalkingkookaLanguageTag interned = pool.intern(tag);
+        assertEquals(tag, interned);
+        assertEquals(tag.toLanguageTag(), interned.toLanguageTag());
+    }
+
+    /**
+     * Measures the retained bytes of the distinct subtag strings of tags which repeat subtags as separate instances,
+     * failing unless interning retains less.
+     */
+    @Test
+    public void testInternRetainedSubtagBytes() {
+        final List<WalkingkookaLanguageTag> tags = new ArrayList<>();
+        for (final String languageTag : new String[]{"en-AU", "en-NZ", "fr-AU", "sr-Latn-RS", "sr-Latn-ME"}) {
+            tags.add(copy(WalkingkookaLanguageTag.parse(languageTag)));
+        }
+
+        final LocaleSubtagPool pool = LocaleSubtagPool.empty();
+        final List<WalkingkookaLanguageTag> interned = new ArrayList<>();
+        for (final WalkingkookaLanguageTag tag : tags) {
+            interned.add(pool.intern(tag));
+        }
+
+        final long before = retained(tags);
+        final long after = retained(interned);
+        assertTrue(after < before, () -> "Interned subtags retained " + after + " bytes, not less than " + before);
+    }
+
+    /**
+     * Returns a tag whose subtags are new {@link String} instances, so equal subtags in different tags are never shared.
+     */
+    private static WalkingkookaLanguageTag copy(final WalkingkookaLanguageTag tag) {
+        return WalkingkookaLanguageTag.with(
+                null,
+                copy(tag.language()),
+                copy(tag.country()),
+                copy(tag.variant()),
+                copy(tag.script())
+        );
+    }
+
+    @SuppressWarnings("StringOperationCanBeSimplified")
+    private static String copy(final String subtag) {
+        return null != subtag ?
+                new String(subtag) :
+                null;
+    }
+
+    /**
+     * Sums the estimated shallow size of each distinct subtag {@link String} instance and its latin1 array, assuming
+     * compressed oops.
+     */
+    private static long retained(final List<WalkingkookaLanguageTag> tags) {
+        final Set<String> strings = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (final WalkingkookaLanguageTag tag : tags) {
+            strings.add(tag.language());
+            strings.add(tag.script());
+            strings.add(tag.country());
+            strings.add(tag.variant());
+        }
+
+        long bytes = 0;
+        for (final String string : strings) {
+            if (null != string) {
+                bytes += 24 + align(16 + string.length());
+            }
+        }
+        return bytes;
+    }
+
+    private static long align(final int bytes) {
+        return (bytes + 7) & ~7;
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<LocaleSubtagPool> type() {
+        return LocaleSubtagPool.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -23,6 +23,7 @@ import walkingkooka.HashCodeEqualsDefinedTesting2;
 import walkingkooka.ToStringTesting;
 import walkingkooka.collect.map.Maps;
 import walkingkooka.collect.set.Sets;
+import walkingkooka.j2cl.java.util.locale.support.LocaleDefaults;
 import walkingkooka.j2cl.locale.WalkingkookaLanguageTag;
 import walkingkooka.javashader.ShadedClassTesting;
 import walkingkooka.predicate.Predicates;
@@ -32,6 +33,7 @@ import walkingkooka.reflect.PackageName;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.net.URLClassLoader;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
@@ -45,7 +47,9 @@ import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public final class LocaleTest implements ShadedClassTesting<Locale>,
@@ -114,6 +118,75 @@ public final class LocaleTest implements ShadedClassTesting<Locale>,
         }
     }
 
+    @Test
+    public void testGetAvailableLocalesSharesSubtags() {
+        final Map<String, String> countries = Maps.hash();
+        final Map<String, String> scripts = Maps.hash();
+
+        for (final Locale locale : Locale.getAvailableLocales()) {
+            final String country = locale.getCountry();
+            assertSame(countries.computeIfAbsent(country, (c) -> c), country, () -> "country " + locale);
+
+            final String script = locale.getScript();
+            assertSame(scripts.computeIfAbsent(script, (s) -> s), script, () -> "script " + locale);
+        }
+    }
+
+    @Test
+    public void testGetDefaultSystemPropertyLanguage() {
+        this.getDefaultAndCheck("fr");
+    }
+
+    @Test
+    public void testGetDefaultSystemPropertyLanguageCountry() {
+        this.getDefaultAndCheck("fr-FR");
+    }
+
+    @Test
+    public void testGetDefaultWithoutCountryBeforeDecodeIsCanonical() throws Exception {
+        final String previousProperty = System.getProperty(Locale.DEFAULT_LOCALE);
+        try (final URLClassLoader loader = IsolatedClassLoader.create()) {
+            System.setProperty(Locale.DEFAULT_LOCALE, "EN");
+
+            final Class<?> type = loader.loadClass(Locale.class.getName());
+            final Object locale = type.getMethod("getDefault")
+                    .invoke(null);
+            assertEquals("en", type.getMethod("toLanguageTag").invoke(locale), "toLanguageTag");
+            assertNull(staticField(type, "AVAILABLE_LOCALES"), "AVAILABLE_LOCALES decoded");
+
+            final Object[] available = (Object[]) type.getMethod("getAvailableLocales")
+                    .invoke(null);
+            assertTrue(Arrays.stream(available).anyMatch(l -> l == locale), "default not adopted by available locales");
+            assertSame(locale, type.getMethod("forLanguageTag", String.class).invoke(null, "en"), "forLanguageTag");
+        } finally {
+            if (null == previousProperty) {
+                System.clearProperty(Locale.DEFAULT_LOCALE);
+            } else {
+                System.setProperty(Locale.DEFAULT_LOCALE, previousProperty);
+            }
+        }
+    }
+
+    private void getDefaultAndCheck(final String languageTag) {
+        final Locale previous = Locale.defaultLocale;
+        final String previousProperty = System.getProperty(Locale.DEFAULT_LOCALE);
+        try {
+            Locale.defaultLocale = null;
+            System.setProperty(Locale.DEFAULT_LOCALE, languageTag);
+
+            final Locale locale = Locale.getDefault();
+            assertEquals(Locale.forLanguageTag(languageTag), locale, "getDefault");
+            assertSame(locale, Locale.getDefault(), "getDefault cached");
+        } finally {
+            Locale.defaultLocale = previous;
+            if (null == previousProperty) {
+                System.clearProperty(Locale.DEFAULT_LOCALE);
+            } else {
+                System.setProperty(Locale.DEFAULT_LOCALE, previousProperty);
+            }
+        }
+    }
+
 //    @Test
 //    public void testDefault() {
 //        Locale.defaultLocale = null;
@@ -127,6 +200,163 @@ public final class LocaleTest implements ShadedClassTesting<Locale>,
 //        this.check(java.util.Locale.FRANCE, Locale.getDefault());
 //    }
 
+    @Test
+    public void testGetDefaultIgnoresJvmScope() {
+        this.restoreDefaults(() -> {
+            final Locale locale = Locale.forLanguageTag("en-AU");
+            Locale.setDefault(locale);
+
+            LocaleDefaults.runWithDefault(java.util.Locale.FRANCE, () -> {
+                assertSame(locale, Locale.getDefault(), "default");
+                assertSame(locale, Locale.getDefault(Locale.Category.FORMAT), "FORMAT");
+            });
+        });
+    }
+
+    // Category.........................................................................................................
+
+    @Test
+    public void testGetDefaultCategoryNullFails() {
+        assertThrows(NullPointerException.class, () -> Locale.getDefault(null));
+    }
+
+    @Test
+    public void testSetDefaultCategoryNullCategoryFails() {
+        assertThrows(NullPointerException.class, () -> Locale.setDefault(null, Locale.ROOT));
+    }
+
+    @Test
+    public void testSetDefaultCategoryNullLocaleFails() {
+        assertThrows(NullPointerException.class, () -> Locale.setDefault(Locale.Category.FORMAT, null));
+    }
+
+    @Test
+    public void testGetDefaultCategoryInitiallyDefault() {
+        this.restoreDefaults(() -> {
+            final Locale locale = Locale.forLanguageTag("en-AU");
+            Locale.defaultLocale = locale;
+            Locale.defaultDisplayLocale = null;
+            Locale.defaultFormatLocale = null;
+
+            assertSame(locale, Locale.getDefault(Locale.Category.DISPLAY), "DISPLAY");
+            assertSame(locale, Locale.getDefault(Locale.Category.FORMAT), "FORMAT");
+        });
+    }
+
+    @Test
+    public void testSetDefaultCategory() {
+        this.restoreDefaults(() -> {
+            final Locale locale = Locale.forLanguageTag("en-AU");
+            final Locale format = Locale.forLanguageTag("fr-FR");
+            Locale.setDefault(locale);
+            Locale.setDefault(Locale.Category.FORMAT, format);
+
+            assertSame(locale, Locale.getDefault(), "default");
+            assertSame(locale, Locale.getDefault(Locale.Category.DISPLAY), "DISPLAY");
+            assertSame(format, Locale.getDefault(Locale.Category.FORMAT), "FORMAT");
+        });
+    }
+
+    @Test
+    public void testSetDefaultReplacesCategories() {
+        this.restoreDefaults(() -> {
+            final Locale locale = Locale.forLanguageTag("en-AU");
+            Locale.setDefault(Locale.Category.DISPLAY, Locale.forLanguageTag("fr-FR"));
+            Locale.setDefault(locale);
+
+            assertSame(locale, Locale.getDefault(Locale.Category.DISPLAY), "DISPLAY");
+            assertSame(locale, Locale.getDefault(Locale.Category.FORMAT), "FORMAT");
+        });
+    }
+
+    @Test
+    public void testSetDefaultChangesVersion() {
+        this.restoreDefaults(() -> {
+            Locale.setDefault(Locale.forLanguageTag("en-AU"));
+            final int version = LocaleDefaults.defaultVersion();
+
+            Locale.setDefault(Locale.forLanguageTag("en-AU"));
+            assertEquals(version, LocaleDefaults.defaultVersion(), "same");
+
+            Locale.setDefault(Locale.Category.FORMAT, Locale.forLanguageTag("fr-FR"));
+            final int changed = LocaleDefaults.defaultVersion();
+            assertNotEquals(version, changed, "FORMAT changed");
+
+            Locale.setDefault(Locale.Category.DISPLAY, Locale.forLanguageTag("en-AU"));
+            assertEquals(changed, LocaleDefaults.defaultVersion(), "DISPLAY same");
+        });
+    }
+
+    @Test
+    public void testSetDefaultWithoutPropertyChangesVersion() {
+        this.restoreDefaults(() -> {
+            Locale.defaultLocale = null;
+            Locale.defaultDisplayLocale = null;
+            Locale.defaultFormatLocale = null;
+            final int version = LocaleDefaults.defaultVersion();
+
+            Locale.setDefault(Locale.Category.FORMAT, Locale.forLanguageTag("fr-FR"));
+            assertNotEquals(version, LocaleDefaults.defaultVersion());
+        });
+    }
+
+    /**
+     * Runs the test and then restores the default and category defaults, so other tests see the original values.
+     */
+    private void restoreDefaults(final Runnable test) {
+        final Locale defaultLocale = Locale.defaultLocale;
+        final Locale defaultDisplayLocale = Locale.defaultDisplayLocale;
+        final Locale defaultFormatLocale = Locale.defaultFormatLocale;
+        try {
+            test.run();
+        } finally {
+            Locale.defaultLocale = defaultLocale;
+            Locale.defaultDisplayLocale = defaultDisplayLocale;
+            Locale.defaultFormatLocale = defaultFormatLocale;
+        }
+    }
+
+    // forLanguageTag lazy..............................................................................................
+
+    @Test
+    public void testForLanguageTagLazy() {
+        final Locale locale = Locale.forLanguageTag("xx-Latn");
+
+        assertEquals("xx-Latn", locale.toLanguageTag(), "toLanguageTag");
+        assertEquals(new Locale(WalkingkookaLanguageTag.parse("xx-Latn")), locale);
+        assertEquals(new Locale(WalkingkookaLanguageTag.parse("xx-Latn")).hashCode(), locale.hashCode(), "hashCode");
+        assertEquals("xx", locale.getLanguage(), "language");
+        assertEquals("Latn", locale.getScript(), "script");
+        assertEquals("", locale.getCountry(), "country");
+    }
+
+    @Test
+    public void testForLanguageTagLazyEqualsFirst() {
+        assertEquals(Locale.forLanguageTag("xx-Latn"), new Locale(WalkingkookaLanguageTag.parse("xx-Latn")));
+    }
+
+    @Test
+    public void testForLanguageTagLazyToString() {
+        assertEquals(new Locale(WalkingkookaLanguageTag.parse("xx-Latn")).toString(), Locale.forLanguageTag("xx-Latn").toString());
+    }
+
+    @Test
+    public void testForLanguageTagLazyOtherThread() throws InterruptedException {
+        final Locale locale = Locale.forLanguageTag("xx-Latn");
+        final String[] script = new String[1];
+
+        final Thread thread = new Thread(() -> script[0] = locale.getScript());
+        thread.start();
+        thread.join();
+
+        assertEquals("Latn", script[0]);
+    }
+
+    @Test
+    public void testForLanguageTagNotCanonicalFormNormalized() {
+        assertEquals("xx-Latn", Locale.forLanguageTag("XX-latn").toLanguageTag());
+    }
+
     @Test
     public void testForLanguageAz_Cyrl_AZ() {
         this.forLanguageTagAndCheck("az-Cyrl-AZ");
@@ -363,6 +593,99 @@ public final class LocaleTest implements ShadedClassTesting<Locale>,
         this.checkEquals(new Locale("EN"), new Locale("en"));
     }
 
+    @Test
+    public void testEqualsConstructorAndCanonical() {
+        this.checkEquals(new Locale("en", "AU"), Locale.forLanguageTag("en-AU"));
+    }
+
+    @Test
+    public void testDifferentCanonical() {
+        this.checkNotEquals(Locale.forLanguageTag("en-AU"), Locale.forLanguageTag("en-NZ"));
+    }
+
+    // canonical........................................................................................................
+
+    @Test
+    public void testForLanguageTagCanonical() {
+        assertSame(Locale.forLanguageTag("en-AU"), Locale.forLanguageTag("EN-au"));
+    }
+
+    @Test
+    public void testForLanguageTagCanonicalWithoutCountry() {
+        Locale.getAvailableLocales();
+
+        assertSame(Locale.forLanguageTag("en"), Locale.forLanguageTag("EN"));
+    }
+
+    @Test
+    public void testForLanguageTagCanonicalWithScript() {
+        assertSame(Locale.forLanguageTag("bs-Latn-BA"), Locale.forLanguageTag("BS-LATN-ba"));
+    }
+
+    @Test
+    public void testForLanguageTagCanonicalAvailableLocale() {
+        final Locale locale = Locale.forLanguageTag("fr-FR");
+
+        assertSame(locale,
+                Arrays.stream(Locale.getAvailableLocales())
+                        .filter(locale::equals)
+                        .findFirst()
+                        .orElse(null));
+    }
+
+    @Test
+    public void testForLanguageTagCanonicalFormSameAsOtherCase() {
+        for (final Locale locale : Locale.getAvailableLocales()) {
+            final String languageTag = locale.toLanguageTag();
+            final Locale fast = Locale.forLanguageTag(languageTag);
+            final Locale slow = Locale.forLanguageTag(languageTag.toUpperCase());
+
+            assertEquals(slow, fast, () -> "forLanguageTag " + languageTag);
+            this.check(fast,
+                    slow.getLanguage(),
+                    slow.getCountry(),
+                    slow.getVariant(),
+                    slow.getScript());
+        }
+    }
+
+    @Test
+    public void testForLanguageTagWithoutCountryNotDecoded() throws Exception {
+        try (final URLClassLoader loader = IsolatedClassLoader.create()) {
+            final Class<?> type = loader.loadClass(Locale.class.getName());
+            final Object locale = type.getMethod("forLanguageTag", String.class)
+                    .invoke(null, "EN");
+
+            assertEquals("en", type.getMethod("toLanguageTag").invoke(locale), "toLanguageTag");
+            assertNull(staticField(type, "AVAILABLE_LOCALES"), "AVAILABLE_LOCALES decoded");
+        }
+    }
+
+    @Test
+    public void testForLanguageTagCanonicalFormUnknown() {
+        this.forLanguageTagAndCheck("en-XY");
+    }
+
+    @Test
+    public void testAvailableLocalesIncludesRootConstant() {
+        assertTrue(Arrays.stream(Locale.getAvailableLocales()).anyMatch(l -> l == Locale.ROOT),
+                "ROOT constant missing from available locales");
+    }
+
+    @Test
+    public void testForLanguageTagUndefinedConstant() {
+        Locale.getAvailableLocales();
+
+        assertSame(Locale.UNDEFINED, Locale.forLanguageTag("und"));
+    }
+
+    @Test
+    public void testHashCodeCached() {
+        final Locale locale = new Locale("en", "AU");
+        assertEquals(locale.hashCode(), locale.hashCode());
+        assertEquals(Locale.forLanguageTag("en-AU").hashCode(), locale.hashCode());
+    }
+
     // toString.........................................................................................................
 
     @Test
@@ -400,6 +723,15 @@ public final class LocaleTest implements ShadedClassTesting<Locale>,
         assertSame(Locale.forLanguageTag(locale).toString(), Locale.forLanguageTag(locale).toString());
     }
 
+    // isolated.........................................................................................................
+
+    private static Object staticField(final Class<?> type,
+                                      final String name) throws ReflectiveOperationException {
+        final Field field = type.getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(null);
+    }
+
     // ConstantTesting..................................................................................................
 
     @Override
@@ -431,6 +763,8 @@ public final class LocaleTest implements ShadedClassTesting<Locale>,
 
             switch (f.getName()) {
                 case "defaultLocale":
+                case "defaultDisplayLocale":
+                case "defaultFormatLocale":
                 case "UNDEFINED":
                     required = false;
                     break;
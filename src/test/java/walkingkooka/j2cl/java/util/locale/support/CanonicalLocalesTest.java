@@ -0,0 +1,176 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale.support;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class CanonicalLocalesTest implements ClassTesting2<CanonicalLocales> {
+
+    @Test
+    public void testOfNullLanguageFails() {
+        assertThrows(NullPointerException.class, () -> CanonicalLocales.of(null));
+    }
+
+    @Test
+    public void testOfNullCountryFails() {
+        assertThrows(NullPointerException.class, () -> CanonicalLocales.of("en", null));
+    }
+
+    @Test
+    public void testOfNullVariantFails() {
+        assertThrows(NullPointerException.class, () -> CanonicalLocales.of("en", "AU", null));
+    }
+
+    @Test
+    public void testOfInvalidLanguageFails() {
+        this.ofFails("e", "", "");
+        this.ofFails("abcdefghi", "", "");
+        this.ofFails("en1", "", "");
+    }
+
+    @Test
+    public void testOfInvalidCountryFails() {
+        this.ofFails("en", "A", "");
+        this.ofFails("en", "AUS", "");
+        this.ofFails("en", "12", "");
+        this.ofFails("en", "A1", "");
+    }
+
+    @Test
+    public void testOfInvalidVariantFails() {
+        this.ofFails("en", "AU", "abcdefghi");
+        this.ofFails("en", "AU", "a b");
+        this.ofFails("en", "AU", "abc--def");
+        this.ofFails("en", "AU", "-abc");
+    }
+
+    private void ofFails(final String language,
+                         final String country,
+                         final String variant) {
+        assertThrows(IllegalArgumentException.class,
+                () -> CanonicalLocales.of(language, country, variant),
+                () -> "of " + language + " " + country + " " + variant);
+    }
+
+    @Test
+    public void testOfLanguage() {
+        assertSame(this.available("fr", "", ""), CanonicalLocales.of("fr"));
+    }
+
+    @Test
+    public void testOfLanguageCountry() {
+        assertSame(this.available("en", "AU", ""), CanonicalLocales.of("en", "AU"));
+    }
+
+    @Test
+    public void testOfLanguageCountryCaseInsensitive() {
+        assertSame(this.available("en", "AU", ""), CanonicalLocales.of("EN", "au"));
+    }
+
+    @Test
+    public void testOfLanguageRegion() {
+        assertSame(this.available("es", "419", ""), CanonicalLocales.of("es", "419"));
+    }
+
+    @Test
+    public void testOfLanguageCountryVariant() {
+        assertSame(this.available("ca", "ES", "VALENCIA"), CanonicalLocales.of("ca", "ES", "valencia"));
+    }
+
+    @Test
+    public void testOfLegacyVariant() {
+        assertSame(this.available("ja", "JP", "JP"), CanonicalLocales.of("ja", "JP", "JP"));
+    }
+
+    @Test
+    public void testOfNewAndOldLanguage() {
+        final Locale hebrew = this.available(new Locale("he", "IL").getLanguage(), "IL", "");
+
+        assertSame(hebrew, CanonicalLocales.of("he", "IL"), "he");
+        assertSame(hebrew, CanonicalLocales.of("iw", "IL"), "iw");
+        assertSame(hebrew, CanonicalLocales.of("IW", "il"), "IW");
+    }
+
+    @Test
+    public void testOfIndonesian() {
+        final Locale indonesian = this.available(new Locale("id", "ID").getLanguage(), "ID", "");
+
+        assertSame(indonesian, CanonicalLocales.of("id", "ID"), "id");
+        assertSame(indonesian, CanonicalLocales.of("in", "ID"), "in");
+    }
+
+    @Test
+    public void testOfEmpty() {
+        assertSame(Locale.ROOT, CanonicalLocales.of(""));
+    }
+
+    @Test
+    public void testOfNotAvailable() {
+        final Locale locale = CanonicalLocales.of("xx", "XX");
+
+        assertEquals(new Locale("xx", "XX"), locale);
+        assertNotSame(CanonicalLocales.of("xx", "XX"), locale);
+    }
+
+    @Test
+    public void testOfAvailableLocales() {
+        for (final Locale locale : Locale.getAvailableLocales()) {
+            if (locale.getScript().isEmpty()) {
+                assertSame(locale,
+                        CanonicalLocales.of(locale.getLanguage(), locale.getCountry(), locale.getVariant()),
+                        () -> "of " + locale);
+            }
+        }
+    }
+
+    private Locale available(final String language,
+                             final String country,
+                             final String variant) {
+        final Locale wanted = new Locale(language, country, variant);
+        for (final Locale locale : Locale.getAvailableLocales()) {
+            if (wanted.getLanguage().equals(locale.getLanguage()) &&
+                    wanted.getCountry().equals(locale.getCountry()) &&
+                    wanted.getVariant().equals(locale.getVariant()) &&
+                    locale.getScript().isEmpty()) {
+                return locale;
+            }
+        }
+        throw new AssertionError("Missing available locale " + wanted);
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<CanonicalLocales> type() {
+        return CanonicalLocales.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale.support;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class LikelySubtagsTest implements ClassTesting2<LikelySubtags> {
+
+    @Test
+    public void testAddLikelySubtagsNullFails() {
+        assertThrows(NullPointerException.class, () -> LikelySubtags.addLikelySubtags(null));
+    }
+
+    @Test
+    public void testAddLikelySubtagsLanguage() {
+        this.addLikelySubtagsAndCheck("en", "en-Latn-US");
+    }
+
+    @Test
+    public void testAddLikelySubtagsLanguageCountry() {
+        this.addLikelySubtagsAndCheck("en-AU", "en-Latn-AU");
+    }
+
+    @Test
+    public void testAddLikelySubtagsLanguageCountryScriptFromCountry() {
+        this.addLikelySubtagsAndCheck("zh-TW", "zh-Hant-TW");
+    }
+
+    @Test
+    public void testAddLikelySubtagsLanguageScript() {
+        this.addLikelySubtagsAndCheck("sr-Latn", "sr-Latn-RS");
+    }
+
+    @Test
+    public void testAddLikelySubtagsAlreadyMaximized() {
+        this.addLikelySubtagsAndCheck("zh-Hant-TW", "zh-Hant-TW");
+    }
+
+    @Test
+    public void testAddLikelySubtagsUndefined() {
+        this.addLikelySubtagsAndCheck("und-Hant", "zh-Hant-TW");
+    }
+
+    @Test
+    public void testAddLikelySubtagsUndefinedCountryTW() {
+        this.addLikelySubtagsAndCheck("und-TW", "zh-Hant-TW");
+    }
+
+    @Test
+    public void testAddLikelySubtagsUndefinedCountryJP() {
+        this.addLikelySubtagsAndCheck("und-JP", "ja-Jpan-JP");
+    }
+
+    @Test
+    public void testAddLikelySubtagsUnknownLanguageScript() {
+        this.addLikelySubtagsAndCheck("xx-Cyrl", "xx-Cyrl-RU");
+    }
+
+    @Test
+    public void testAddLikelySubtagsUnknownLanguageCountry() {
+        this.addLikelySubtagsAndCheck("xx-JP", "xx-Jpan-JP");
+    }
+
+    @Test
+    public void testAddLikelySubtagsOldLanguage() {
+        this.addLikelySubtagsAndCheck("iw", "he-Hebr-IL");
+    }
+
+    @Test
+    public void testAddLikelySubtagsVariant() {
+        this.addLikelySubtagsAndCheck("ca-ES-valencia", "ca-Latn-ES-valencia");
+    }
+
+    @Test
+    public void testAddLikelySubtagsUnknown() {
+        final Locale locale = Locale.forLanguageTag("xx");
+        assertSame(locale, LikelySubtags.addLikelySubtags(locale));
+    }
+
+    @Test
+    public void testAddLikelySubtagsMemoized() {
+        final Locale locale = Locale.forLanguageTag("zh-TW");
+        assertSame(LikelySubtags.addLikelySubtags(locale), LikelySubtags.addLikelySubtags(locale));
+    }
+
+    private void addLikelySubtagsAndCheck(final String tag,
+                                          final String expected) {
+        assertEquals(expected,
+                LikelySubtags.addLikelySubtags(Locale.forLanguageTag(tag)).toLanguageTag(),
+                () -> "addLikelySubtags " + tag);
+    }
+
+    @Test
+    public void testMinimizeSubtagsNullFails() {
+        assertThrows(NullPointerException.class, () -> LikelySubtags.minimizeSubtags(null));
+    }
+
+    @Test
+    public void testMinimizeSubtagsLanguageScriptCountry() {
+        this.minimizeSubtagsAndCheck("en-Latn-US", "en");
+    }
+
+    @Test
+    public void testMinimizeSubtagsKeepsCountry() {
+        this.minimizeSubtagsAndCheck("zh-Hant-TW", "zh-TW");
+    }
+
+    @Test
+    public void testMinimizeSubtagsKeepsScript() {
+        this.minimizeSubtagsAndCheck("sr-Latn-RS", "sr-Latn");
+    }
+
+    @Test
+    public void testMinimizeSubtagsKeepsLanguageCountry() {
+        this.minimizeSubtagsAndCheck("pt-PT", "pt-PT");
+    }
+
+    @Test
+    public void testMinimizeSubtagsUnknown() {
+        final Locale locale = Locale.forLanguageTag("xx");
+        assertSame(locale, LikelySubtags.minimizeSubtags(locale));
+    }
+
+    @Test
+    public void testMinimizeSubtagsAddLikelySubtagsRoundtrip() {
+        for (final String tag : new String[]{"en", "en-AU", "zh-TW", "zh-HK", "sr-ME", "uz-AF"}) {
+            final Locale locale = Locale.forLanguageTag(tag);
+            assertEquals(locale,
+                    LikelySubtags.minimizeSubtags(LikelySubtags.addLikelySubtags(locale)),
+                    () -> "roundtrip " + tag);
+        }
+    }
+
+    private void minimizeSubtagsAndCheck(final String tag,
+                                         final String expected) {
+        assertEquals(expected,
+                LikelySubtags.minimizeSubtags(Locale.forLanguageTag(tag)).toLanguageTag(),
+                () -> "minimizeSubtags " + tag);
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<LikelySubtags> type() {
+        return LikelySubtags.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
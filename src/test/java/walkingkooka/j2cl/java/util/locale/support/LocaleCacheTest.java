@@ -0,0 +1,224 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale.support;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class LocaleCacheTest implements ClassTesting2<LocaleCache<String>> {
+
+    @Test
+    public void testWithNullLoaderFails() {
+        assertThrows(NullPointerException.class, () -> LocaleCache.with(null, 1));
+    }
+
+    @Test
+    public void testWithNegativeMaxFails() {
+        assertThrows(IllegalArgumentException.class, () -> LocaleCache.with(Locale::toLanguageTag, -1));
+    }
+
+    @Test
+    public void testGetNullFails() {
+        assertThrows(NullPointerException.class, () -> LocaleCache.with(Locale::toLanguageTag, 1).get(null));
+    }
+
+    @Test
+    public void testLoaderReturnsNullFails() {
+        assertThrows(IllegalStateException.class, () -> LocaleCache.with((l) -> null, 1).get(Locale.ENGLISH));
+    }
+
+    @Test
+    public void testGetAvailableLoadedOnce() {
+        final AtomicInteger loads = new AtomicInteger();
+        final LocaleCache<String> cache = LocaleCache.with((l) -> {
+            loads.incrementAndGet();
+            return new String(l.toLanguageTag());
+        }, 0);
+
+        final Locale locale = Locale.forLanguageTag("en-AU");
+        final String value = cache.get(locale);
+        assertEquals("en-AU", value);
+        assertSame(value, cache.get(locale));
+        assertEquals(1, loads.get(), "loads");
+        assertEquals(1, cache.size(), "size");
+    }
+
+    @Test
+    public void testGetOtherLoadedOnce() {
+        final AtomicInteger loads = new AtomicInteger();
+        final LocaleCache<String> cache = LocaleCache.with((l) -> {
+            loads.incrementAndGet();
+            return new String(l.toLanguageTag());
+        }, 1);
+
+        final Locale locale = this.unavailable(1);
+        final String value = cache.get(locale);
+        assertSame(value, cache.get(locale));
+        assertEquals(1, loads.get(), "loads");
+    }
+
+    @Test
+    public void testOthersLeastRecentlyUsedEvicted() {
+        final List<Locale> loaded = new ArrayList<>();
+        final LocaleCache<String> cache = LocaleCache.with((l) -> {
+            loaded.add(l);
+            return l.toLanguageTag();
+        }, 2);
+
+        final Locale locale1 = this.unavailable(1);
+        final Locale locale2 = this.unavailable(2);
+        final Locale locale3 = this.unavailable(3);
+
+        cache.get(locale1);
+        cache.get(locale2);
+        cache.get(locale1); // locale2 is now the least recently used
+        cache.get(locale3);
+        assertEquals(2, cache.size(), "size");
+
+        cache.get(locale1);
+        cache.get(locale2);
+
+        final List<Locale> expected = new ArrayList<>();
+        expected.add(locale1);
+        expected.add(locale2);
+        expected.add(locale3);
+        expected.add(locale2);
+        assertEquals(expected, loaded);
+    }
+
+    @Test
+    public void testAvailableNeverEvicted() {
+        final AtomicInteger loads = new AtomicInteger();
+        final LocaleCache<String> cache = LocaleCache.with((l) -> {
+            loads.incrementAndGet();
+            return l.toLanguageTag();
+        }, 0);
+
+        final Locale[] available = Locale.getAvailableLocales();
+        for (final Locale locale : available) {
+            cache.get(locale);
+        }
+        for (final Locale locale : available) {
+            cache.get(locale);
+        }
+        assertEquals(available.length, loads.get(), "loads");
+    }
+
+    @Test
+    public void testConcurrentMissLoadsOnce() throws Exception {
+        final AtomicInteger loads = new AtomicInteger();
+        final CountDownLatch loading = new CountDownLatch(1);
+
+        final LocaleCache<String> cache = LocaleCache.with((l) -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            try {
+                Thread.sleep(50);
+            } catch (final InterruptedException cause) {
+                throw new Error(cause);
+            }
+            return l.toLanguageTag();
+        }, 1);
+
+        final Locale locale = this.unavailable(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(executor.submit(() -> cache.get(locale)));
+            }
+            loading.await(5, TimeUnit.SECONDS);
+
+            for (final Future<String> future : futures) {
+                assertEquals(locale.toLanguageTag(), future.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, loads.get(), "loads");
+    }
+
+    @Test
+    public void testSlowLoadDoesNotBlockOtherLocales() throws Exception {
+        final Locale slow = this.unavailable(1);
+        final CountDownLatch loading = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final LocaleCache<String> cache = LocaleCache.with((l) -> {
+            if (slow.equals(l)) {
+                loading.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (final InterruptedException cause) {
+                    throw new Error(cause);
+                }
+            }
+            return l.toLanguageTag();
+        }, 2);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Future<String> slowValue = executor.submit(() -> cache.get(slow));
+            loading.await(5, TimeUnit.SECONDS);
+
+            final Locale other = this.unavailable(2);
+            final Locale available = Locale.forLanguageTag("en-AU");
+            final Future<String> otherValues = executor.submit(() -> cache.get(other) + " " + cache.get(available));
+            assertEquals(other.toLanguageTag() + " en-AU", otherValues.get(2, TimeUnit.SECONDS));
+
+            release.countDown();
+            assertEquals(slow.toLanguageTag(), slowValue.get(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private Locale unavailable(final int i) {
+        return Locale.forLanguageTag("xy-" + (100 + i));
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<LocaleCache<String>> type() {
+        return Cast.to(LocaleCache.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
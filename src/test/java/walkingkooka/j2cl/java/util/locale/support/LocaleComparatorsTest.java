@@ -0,0 +1,143 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale.support;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class LocaleComparatorsTest implements ClassTesting2<LocaleComparators> {
+
+    @Test
+    public void testGetAvailableLocalesSorted() {
+        final List<String> expected = Arrays.stream(Locale.getAvailableLocales())
+                .map(Locale::toLanguageTag)
+                .sorted()
+                .collect(Collectors.toList());
+
+        assertEquals(expected,
+                LocaleComparators.getAvailableLocalesSorted()
+                        .stream()
+                        .map(Locale::toLanguageTag)
+                        .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testGetAvailableLocalesSortedCached() {
+        assertSame(LocaleComparators.getAvailableLocalesSorted(), LocaleComparators.getAvailableLocalesSorted());
+    }
+
+    @Test
+    public void testGetAvailableLocalesSortedImmutable() {
+        assertThrows(UnsupportedOperationException.class, () -> LocaleComparators.getAvailableLocalesSorted().clear());
+    }
+
+    @Test
+    public void testLanguageTag() {
+        this.compareAndCheck(LocaleComparators.languageTag(), "en-AU", "en-NZ");
+    }
+
+    @Test
+    public void testLanguageTagNotAvailable() {
+        this.compareAndCheck(LocaleComparators.languageTag(), "en-AU", "xy-ZZ");
+    }
+
+    @Test
+    public void testLanguageTagSame() {
+        assertEquals(0, LocaleComparators.languageTag().compare(Locale.forLanguageTag("en-AU"), new Locale("en", "AU")));
+    }
+
+    @Test
+    public void testLanguageCountryScriptCountryBeforeScript() {
+        this.compareAndCheck(LocaleComparators.languageCountryScript(), "sr-Latn-BA", "sr-Cyrl-RS");
+    }
+
+    @Test
+    public void testLanguageCountryScriptScript() {
+        this.compareAndCheck(LocaleComparators.languageCountryScript(), "bs-Cyrl-BA", "bs-Latn-BA");
+    }
+
+    @Test
+    public void testLanguageCountryScriptNotAvailable() {
+        this.compareAndCheck(LocaleComparators.languageCountryScript(), "en-AU", "xy");
+    }
+
+    @Test
+    public void testLanguageCountryScriptBothNotAvailable() {
+        this.compareAndCheck(LocaleComparators.languageCountryScript(), "xy-AA", "xy-BB");
+    }
+
+    @Test
+    public void testRanksAgreeWithComponents() {
+        final Comparator<Locale> comparator = LocaleComparators.languageCountryScript();
+        final List<Locale> sorted = Arrays.stream(Locale.getAvailableLocales())
+                .sorted(comparator)
+                .collect(Collectors.toList());
+
+        for (int i = 1; i < sorted.size(); i++) {
+            final Locale left = sorted.get(i - 1);
+            final Locale right = sorted.get(i);
+
+            // the private use extension is ignored by the comparator but not available, so has no rank
+            final Locale unranked = new Locale.Builder()
+                    .setLocale(right)
+                    .setExtension('x', "unranked")
+                    .build();
+            if (false == right.getVariant().equals(unranked.getVariant())) {
+                continue; // legacy variants such as no_NO_NY are dropped by the builder
+            }
+
+            assertEquals(Integer.signum(comparator.compare(left, unranked)),
+                    Integer.signum(comparator.compare(left, right)),
+                    () -> left + " " + right);
+        }
+    }
+
+    private void compareAndCheck(final Comparator<Locale> comparator,
+                                 final String less,
+                                 final String more) {
+        final Locale lessLocale = Locale.forLanguageTag(less);
+        final Locale moreLocale = Locale.forLanguageTag(more);
+
+        assertTrue(comparator.compare(lessLocale, moreLocale) < 0, () -> less + " < " + more);
+        assertTrue(comparator.compare(moreLocale, lessLocale) > 0, () -> more + " > " + less);
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<LocaleComparators> type() {
+        return LocaleComparators.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
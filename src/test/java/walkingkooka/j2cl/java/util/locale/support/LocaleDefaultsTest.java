@@ -0,0 +1,350 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale.support;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class LocaleDefaultsTest implements ClassTesting2<LocaleDefaults> {
+
+    @BeforeEach
+    public void saveDefault() {
+        this.previous = Locale.getDefault();
+        this.previousDisplay = Locale.getDefault(Locale.Category.DISPLAY);
+        this.previousFormat = Locale.getDefault(Locale.Category.FORMAT);
+    }
+
+    @AfterEach
+    public void restoreDefault() {
+        Locale.setDefault(this.previous);
+        Locale.setDefault(Locale.Category.DISPLAY, this.previousDisplay);
+        Locale.setDefault(Locale.Category.FORMAT, this.previousFormat);
+    }
+
+    private Locale previous;
+    private Locale previousDisplay;
+    private Locale previousFormat;
+
+    @Test
+    public void testGetDefaultWithoutScope() {
+        final Locale locale = Locale.forLanguageTag("en-AU");
+        Locale.setDefault(locale);
+
+        assertSame(locale, LocaleDefaults.getDefault());
+    }
+
+    @Test
+    public void testGetDefaultCategoryNullFails() {
+        assertThrows(NullPointerException.class, () -> LocaleDefaults.getDefault(null));
+    }
+
+    @Test
+    public void testGetDefaultCategoryWithoutScope() {
+        final Locale format = Locale.forLanguageTag("fr-FR");
+        Locale.setDefault(Locale.forLanguageTag("en-AU"));
+        Locale.setDefault(Locale.Category.FORMAT, format);
+
+        assertSame(format, LocaleDefaults.getDefault(Locale.Category.FORMAT));
+    }
+
+    // runWithDefault...................................................................................................
+
+    @Test
+    public void testRunWithDefaultNullLocaleFails() {
+        assertThrows(NullPointerException.class, () -> LocaleDefaults.runWithDefault(null, () -> {
+        }));
+    }
+
+    @Test
+    public void testRunWithDefaultNullTaskFails() {
+        assertThrows(NullPointerException.class, () -> LocaleDefaults.runWithDefault(Locale.ROOT, null));
+    }
+
+    @Test
+    public void testRunWithDefault() {
+        final Locale locale = Locale.forLanguageTag("en-AU");
+        final Locale scoped = Locale.forLanguageTag("fr-FR");
+        Locale.setDefault(locale);
+
+        LocaleDefaults.runWithDefault(scoped, () -> {
+            assertSame(scoped, LocaleDefaults.getDefault(), "default");
+            assertSame(scoped, LocaleDefaults.getDefault(Locale.Category.DISPLAY), "DISPLAY");
+            assertSame(scoped, LocaleDefaults.getDefault(Locale.Category.FORMAT), "FORMAT");
+        });
+
+        assertSame(locale, LocaleDefaults.getDefault(), "default after");
+        assertSame(locale, LocaleDefaults.getDefault(Locale.Category.FORMAT), "FORMAT after");
+    }
+
+    @Test
+    public void testRunWithDefaultNested() {
+        final Locale outer = Locale.forLanguageTag("fr-FR");
+        final Locale inner = Locale.forLanguageTag("de-DE");
+        Locale.setDefault(Locale.forLanguageTag("en-AU"));
+
+        LocaleDefaults.runWithDefault(outer, () -> {
+            LocaleDefaults.runWithDefault(inner, () -> assertSame(inner, LocaleDefaults.getDefault(), "inner"));
+            assertSame(outer, LocaleDefaults.getDefault(), "outer");
+        });
+    }
+
+    @Test
+    public void testRunWithDefaultRestoredAfterFailure() {
+        final Locale locale = Locale.forLanguageTag("en-AU");
+        Locale.setDefault(locale);
+
+        assertThrows(IllegalStateException.class, () -> LocaleDefaults.runWithDefault(Locale.forLanguageTag("fr-FR"), () -> {
+            throw new IllegalStateException();
+        }));
+        assertSame(locale, LocaleDefaults.getDefault());
+    }
+
+    @Test
+    public void testRunWithDefaultNotVisibleToOtherThreads() throws Exception {
+        final Locale locale = Locale.forLanguageTag("en-AU");
+        Locale.setDefault(locale);
+
+        final Locale[] other = new Locale[1];
+        LocaleDefaults.runWithDefault(Locale.forLanguageTag("fr-FR"), () -> {
+            final Thread thread = new Thread(() -> other[0] = LocaleDefaults.getDefault());
+            thread.start();
+            try {
+                thread.join();
+            } catch (final InterruptedException cause) {
+                throw new Error(cause);
+            }
+        });
+
+        assertSame(locale, other[0]);
+    }
+
+    // callWithDefault..................................................................................................
+
+    @Test
+    public void testCallWithDefaultNullLocaleFails() {
+        assertThrows(NullPointerException.class, () -> LocaleDefaults.callWithDefault(null, () -> null));
+    }
+
+    @Test
+    public void testCallWithDefaultNullTaskFails() {
+        assertThrows(NullPointerException.class, () -> LocaleDefaults.callWithDefault(Locale.ROOT, null));
+    }
+
+    @Test
+    public void testCallWithDefault() throws Exception {
+        final Locale locale = Locale.forLanguageTag("en-AU");
+        final Locale scoped = Locale.forLanguageTag("fr-FR");
+        Locale.setDefault(locale);
+
+        assertSame(scoped, LocaleDefaults.callWithDefault(scoped, LocaleDefaults::getDefault));
+        assertSame(locale, LocaleDefaults.getDefault(), "default after");
+    }
+
+    // setDefault.......................................................................................................
+
+    @Test
+    public void testSetDefaultNullFails() {
+        assertThrows(NullPointerException.class, () -> LocaleDefaults.setDefault(null));
+    }
+
+    @Test
+    public void testSetDefaultCategoryNullCategoryFails() {
+        assertThrows(NullPointerException.class, () -> LocaleDefaults.setDefault(null, Locale.ROOT));
+    }
+
+    @Test
+    public void testSetDefaultCategoryNullLocaleFails() {
+        assertThrows(NullPointerException.class, () -> LocaleDefaults.setDefault(Locale.Category.FORMAT, null));
+    }
+
+    @Test
+    public void testSetDefault() {
+        final Locale locale = Locale.forLanguageTag("en-AU");
+        LocaleDefaults.setDefault(locale);
+
+        assertSame(locale, Locale.getDefault(), "default");
+        assertSame(locale, Locale.getDefault(Locale.Category.DISPLAY), "DISPLAY");
+        assertSame(locale, Locale.getDefault(Locale.Category.FORMAT), "FORMAT");
+    }
+
+    @Test
+    public void testSetDefaultCategory() {
+        final Locale format = Locale.forLanguageTag("fr-FR");
+        LocaleDefaults.setDefault(Locale.forLanguageTag("en-AU"));
+        LocaleDefaults.setDefault(Locale.Category.FORMAT, format);
+
+        assertSame(format, Locale.getDefault(Locale.Category.FORMAT));
+    }
+
+    // defaultVersion...................................................................................................
+
+    @Test
+    public void testSetDefaultChangesDefaultVersion() {
+        LocaleDefaults.setDefault(Locale.forLanguageTag("en-AU"));
+        final int version = LocaleDefaults.defaultVersion();
+
+        LocaleDefaults.setDefault(Locale.forLanguageTag("fr-FR"));
+        assertNotEquals(version, LocaleDefaults.defaultVersion());
+    }
+
+    @Test
+    public void testSetDefaultSameDefaultVersionUnchanged() {
+        final Locale locale = Locale.forLanguageTag("en-AU");
+        LocaleDefaults.setDefault(locale);
+        final int version = LocaleDefaults.defaultVersion();
+
+        LocaleDefaults.setDefault(locale);
+        assertEquals(version, LocaleDefaults.defaultVersion());
+    }
+
+    @Test
+    public void testSetDefaultCategoryChangesDefaultVersion() {
+        LocaleDefaults.setDefault(Locale.forLanguageTag("en-AU"));
+        final int version = LocaleDefaults.defaultVersion();
+
+        LocaleDefaults.setDefault(Locale.Category.FORMAT, Locale.forLanguageTag("fr-FR"));
+        final int changed = LocaleDefaults.defaultVersion();
+        assertNotEquals(version, changed, "changed");
+
+        LocaleDefaults.setDefault(Locale.Category.FORMAT, Locale.forLanguageTag("fr-FR"));
+        assertEquals(changed, LocaleDefaults.defaultVersion(), "same");
+    }
+
+    @Test
+    public void testRunWithDefaultDefaultVersion() {
+        LocaleDefaults.setDefault(Locale.forLanguageTag("en-AU"));
+        final int version = LocaleDefaults.defaultVersion();
+
+        final int[] scoped = new int[2];
+        LocaleDefaults.runWithDefault(Locale.forLanguageTag("fr-FR"), () -> {
+            scoped[0] = LocaleDefaults.defaultVersion();
+            LocaleDefaults.runWithDefault(Locale.forLanguageTag("de-DE"), () -> scoped[1] = LocaleDefaults.defaultVersion());
+            assertEquals(scoped[0], LocaleDefaults.defaultVersion(), "outer restored");
+        });
+
+        assertNotEquals(version, scoped[0], "outer");
+        assertNotEquals(version, scoped[1], "inner");
+        assertNotEquals(scoped[0], scoped[1], "outer v inner");
+        assertEquals(version, LocaleDefaults.defaultVersion(), "after");
+    }
+
+    // addDefaultListener...............................................................................................
+
+    @Test
+    public void testAddDefaultListenerNullFails() {
+        assertThrows(NullPointerException.class, () -> LocaleDefaults.addDefaultListener(null));
+    }
+
+    @Test
+    public void testAddDefaultListener() {
+        LocaleDefaults.setDefault(Locale.forLanguageTag("en-AU"));
+
+        final int[] fired = new int[1];
+        final Runnable remover = LocaleDefaults.addDefaultListener(() -> fired[0]++);
+        try {
+            LocaleDefaults.setDefault(Locale.forLanguageTag("fr-FR"));
+            assertEquals(1, fired[0], "setDefault");
+
+            LocaleDefaults.setDefault(Locale.forLanguageTag("fr-FR"));
+            assertEquals(1, fired[0], "setDefault same");
+
+            LocaleDefaults.setDefault(Locale.Category.DISPLAY, Locale.forLanguageTag("de-DE"));
+            assertEquals(2, fired[0], "setDefault category");
+        } finally {
+            remover.run();
+        }
+    }
+
+    @Test
+    public void testAddDefaultListenerRemoved() {
+        LocaleDefaults.setDefault(Locale.forLanguageTag("en-AU"));
+
+        final int[] fired = new int[1];
+        LocaleDefaults.addDefaultListener(() -> fired[0]++)
+                .run();
+
+        LocaleDefaults.setDefault(Locale.forLanguageTag("fr-FR"));
+        assertEquals(0, fired[0]);
+    }
+
+    @Test
+    public void testAddDefaultListenerSeesNewDefault() {
+        LocaleDefaults.setDefault(Locale.forLanguageTag("en-AU"));
+
+        final Locale locale = Locale.forLanguageTag("fr-FR");
+        final Locale[] seen = new Locale[1];
+        final Runnable remover = LocaleDefaults.addDefaultListener(() -> seen[0] = LocaleDefaults.getDefault());
+        try {
+            LocaleDefaults.setDefault(locale);
+            assertSame(locale, seen[0]);
+        } finally {
+            remover.run();
+        }
+    }
+
+    @Test
+    public void testAddDefaultListenerFailuresIsolated() {
+        LocaleDefaults.setDefault(Locale.forLanguageTag("en-AU"));
+
+        final IllegalStateException first = new IllegalStateException("first");
+        final IllegalArgumentException second = new IllegalArgumentException("second");
+        final int[] fired = new int[1];
+
+        final Runnable remover1 = LocaleDefaults.addDefaultListener(() -> {
+            throw first;
+        });
+        final Runnable remover2 = LocaleDefaults.addDefaultListener(() -> fired[0]++);
+        final Runnable remover3 = LocaleDefaults.addDefaultListener(() -> {
+            throw second;
+        });
+        try {
+            final IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> LocaleDefaults.setDefault(Locale.forLanguageTag("fr-FR")));
+            assertSame(first, thrown, "first failure");
+            assertArrayEquals(new Throwable[]{second}, thrown.getSuppressed(), "suppressed");
+            assertEquals(1, fired[0], "other listeners run");
+            assertEquals(Locale.forLanguageTag("fr-FR"), Locale.getDefault(), "default changed");
+        } finally {
+            remover1.run();
+            remover2.run();
+            remover3.run();
+        }
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<LocaleDefaults> type() {
+        return LocaleDefaults.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale.support;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.j2cl.java.io.string.StringDataInputDataOutput;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class LocaleDictionaryReaderTest implements ClassTesting2<LocaleDictionaryReader> {
+
+    @Test
+    public void testWithNullDataFails() {
+        assertThrows(NullPointerException.class, () -> LocaleDictionaryReader.with(null));
+    }
+
+    @Test
+    public void testWriteReadLocales() throws Exception {
+        final Set<Locale> locales = Sets.of(Locale.forLanguageTag("EN-AU"), Locale.forLanguageTag("EN-NZ"));
+        final Set<Locale> locales2 = Sets.of(Locale.forLanguageTag("EN-NZ"), Locale.forLanguageTag("FR-FR"));
+
+        final StringBuilder data = new StringBuilder();
+        final LocaleDictionaryWriter writer = LocaleDictionaryWriter.with(StringDataInputDataOutput.output(data::append));
+        writer.writeLocales(locales);
+        writer.writeLocales(locales2);
+        writer.writeLocales(locales);
+
+        final LocaleDictionaryReader reader = LocaleDictionaryReader.with(StringDataInputDataOutput.input(data.toString()));
+        final Set<Locale> read = reader.readLocales();
+        final Set<Locale> read2 = reader.readLocales();
+        final Set<Locale> read3 = reader.readLocales();
+
+        assertEquals(locales, read, "1st");
+        assertEquals(locales2, read2, "2nd");
+        assertEquals(locales, read3, "3rd");
+        assertEquals("3 locale(s)", reader.toString());
+    }
+
+    @Test
+    public void testReadSameInstance() throws Exception {
+        final Locale locale = Locale.forLanguageTag("EN-AU");
+
+        final StringBuilder data = new StringBuilder();
+        final LocaleDictionaryWriter writer = LocaleDictionaryWriter.with(StringDataInputDataOutput.output(data::append));
+        writer.write(locale);
+        writer.write(locale);
+
+        final LocaleDictionaryReader reader = LocaleDictionaryReader.with(StringDataInputDataOutput.input(data.toString()));
+        assertSame(reader.read(), reader.read());
+    }
+
+    @Test
+    public void testReadInvalidIndexFails() throws Exception {
+        final StringBuilder data = new StringBuilder();
+        final DataOutput output = StringDataInputDataOutput.output(data::append);
+        output.writeByte(1);
+
+        assertThrows(IOException.class, () -> LocaleDictionaryReader.with(StringDataInputDataOutput.input(data.toString())).read());
+    }
+
+    @Test
+    public void testReadNegativeIndexFails() throws Exception {
+        final StringBuilder data = new StringBuilder();
+        final DataOutput output = StringDataInputDataOutput.output(data::append);
+        output.writeInt(-1);
+        output.writeByte(0x0f); // 0xffffffff as a varint
+
+        assertThrows(IOException.class, () -> LocaleDictionaryReader.with(StringDataInputDataOutput.input(data.toString())).read());
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<LocaleDictionaryReader> type() {
+        return LocaleDictionaryReader.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale.support;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.j2cl.java.io.string.StringDataInputDataOutput;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.Indentation;
+import walkingkooka.text.LineEnding;
+import walkingkooka.text.printer.Printers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.util.Locale;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class LocaleDictionaryWriterTest implements ClassTesting2<LocaleDictionaryWriter> {
+
+    @Test
+    public void testWithNullDataFails() {
+        assertThrows(NullPointerException.class, () -> LocaleDictionaryWriter.with(null));
+    }
+
+    @Test
+    public void testGenerateLocales() throws Exception {
+        final Set<Locale> locales = Sets.of(Locale.forLanguageTag("EN-AU"), Locale.forLanguageTag("EN-NZ"), Locale.forLanguageTag("EN-US"));
+        final StringBuilder comments = new StringBuilder();
+
+        try (final ByteArrayOutputStream bytes = new ByteArrayOutputStream()) {
+            LocaleDictionaryWriter.with(new DataOutputStream(bytes))
+                    .generateLocales(locales,
+                            "Locales123",
+                            Printers.stringBuilder(comments, LineEnding.NL).indenting(Indentation.with("  ")));
+        }
+        assertEquals("Locales123=en-AU, en-NZ, en-US",
+                comments.toString(),
+                () -> " generateLocales " + locales);
+    }
+
+    @Test
+    public void testWriteLocalesSmallerThanLocaleSupport() throws Exception {
+        final Set<Locale> locales = Sets.of(Locale.forLanguageTag("EN-AU"), Locale.forLanguageTag("EN-NZ"), Locale.forLanguageTag("EN-US"));
+
+        final StringBuilder dictionary = new StringBuilder();
+        final LocaleDictionaryWriter writer = LocaleDictionaryWriter.with(StringDataInputDataOutput.output(dictionary::append));
+
+        final StringBuilder plain = new StringBuilder();
+
+        for (int i = 0; i < 10; i++) {
+            writer.writeLocales(locales);
+            LocaleSupport.writeLocales(locales, StringDataInputDataOutput.output(plain::append));
+        }
+
+        assertTrue(dictionary.length() < plain.length(), () -> "dictionary " + dictionary.length() + " should be smaller than " + plain.length());
+    }
+
+    @Test
+    public void testWriteLocalesByteCountComparedToLocaleSupport() throws Exception {
+        final Set<Locale> locales = Sets.of(Locale.forLanguageTag("EN-AU"), Locale.forLanguageTag("EN-NZ"), Locale.forLanguageTag("EN-US"));
+
+        final ByteArrayOutputStream dictionary = new ByteArrayOutputStream();
+        final LocaleDictionaryWriter writer = LocaleDictionaryWriter.with(new DataOutputStream(dictionary));
+
+        final ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        final DataOutputStream plainData = new DataOutputStream(plain);
+
+        // varint count and indices v int count, each writeUTF "en-XX" is 7 bytes
+        writer.writeLocales(locales);
+        LocaleSupport.writeLocales(locales, plainData);
+        assertEquals(1 + 3 * (1 + 7), dictionary.size(), "dictionary 1st");
+        assertEquals(4 + 3 * 7, plain.size(), "plain 1st");
+
+        writer.writeLocales(locales);
+        LocaleSupport.writeLocales(locales, plainData);
+        assertEquals(1 + 3 * (1 + 7) + 1 + 3, dictionary.size(), "dictionary 2nd");
+        assertEquals(2 * (4 + 3 * 7), plain.size(), "plain 2nd");
+    }
+
+    @Test
+    public void testToString() throws Exception {
+        final LocaleDictionaryWriter writer = LocaleDictionaryWriter.with(StringDataInputDataOutput.output(new StringBuilder()::append));
+        writer.write(Locale.forLanguageTag("EN-AU"));
+        writer.write(Locale.forLanguageTag("EN-AU"));
+
+        assertEquals("1 locale(s)", writer.toString());
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<LocaleDictionaryWriter> type() {
+        return LocaleDictionaryWriter.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale.support;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public final class LocaleEventsTest implements ClassTesting2<LocaleEvents> {
+
+    @Test
+    public void testInstanceJvm() {
+        assertEquals(LocaleJfrEvents.class, LocaleEvents.instance().getClass());
+    }
+
+    @Test
+    public void testDecodeBegin() {
+        assertNull(new LocaleEvents().decodeBegin());
+    }
+
+    @Test
+    public void testScanBegin() {
+        assertNull(new LocaleEvents().scanBegin());
+    }
+
+    @Test
+    public void testDefaultBegin() {
+        assertNull(new LocaleEvents().defaultBegin());
+    }
+
+    @Test
+    public void testEndAndCacheEviction() {
+        final LocaleEvents events = new LocaleEvents();
+        events.decodeEnd(null, 1);
+        events.scanEnd(null, "en-XX", 1, Locale.ENGLISH);
+        events.defaultEnd(null, "en", Locale.ENGLISH);
+        events.cacheEviction("Cache", 1, Locale.ENGLISH);
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<LocaleEvents> type() {
+        return LocaleEvents.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale.support;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.j2cl.java.io.string.StringDataInputDataOutput;
+import walkingkooka.j2cl.java.util.locale.LocaleProvider;
+import walkingkooka.j2cl.locale.WalkingkookaLanguageTag;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public final class LocaleFootprintTest implements ClassTesting2<LocaleFootprint> {
+
+    /**
+     * The system property set by the pom holding the path of the written report.
+     */
+    private final static String REPORT = "locale.footprint.report";
+
+    @Test
+    public void testWithNullFails() {
+        assertThrows(NullPointerException.class, () -> LocaleFootprint.with(null));
+    }
+
+    @Test
+    public void testWithInvalidDataFails() {
+        assertThrows(IllegalArgumentException.class, () -> LocaleFootprint.with(""));
+    }
+
+    @Test
+    public void testChars() {
+        assertEquals(LocaleProvider.DATA.length(), this.footprint().chars());
+    }
+
+    @Test
+    public void testTotal() {
+        assertEquals(LocaleProvider.DATA.getBytes(StandardCharsets.UTF_8).length, this.footprint().total());
+    }
+
+    @Test
+    public void testLocales() throws IOException {
+        final Map<String, Integer> locales = this.footprint().locales();
+        assertEquals(this.tags().size(), locales.size(), "locales");
+
+        for (final Map.Entry<String, Integer> locale : locales.entrySet()) {
+            assertEquals(locale.getKey().length(), locale.getValue(), locale.getKey());
+        }
+    }
+
+    @Test
+    public void testSubtagBytes() throws IOException {
+        int language = 0;
+        int country = 0;
+        for (final WalkingkookaLanguageTag tag : this.tags()) {
+            language += tag.language().length();
+            final String tagCountry = tag.country();
+            if (null != tagCountry && tagCountry.length() > 0) {
+                country += 1 + tagCountry.length();
+            }
+        }
+
+        final Map<String, Integer> subtagBytes = this.footprint().subtagBytes();
+        assertEquals(language, subtagBytes.get(LocaleFootprint.LANGUAGE), LocaleFootprint.LANGUAGE);
+        assertEquals(country, subtagBytes.get(LocaleFootprint.COUNTRY), LocaleFootprint.COUNTRY);
+    }
+
+    @Test
+    public void testSubtagBytesSumLocales() {
+        final LocaleFootprint footprint = this.footprint();
+        assertEquals(footprint.locales().values().stream().mapToInt(Integer::intValue).sum(),
+                footprint.subtagBytes().values().stream().mapToInt(Integer::intValue).sum());
+    }
+
+    @Test
+    public void testSubtags() throws IOException {
+        final Set<String> languages = new HashSet<>();
+        final Set<String> countries = new HashSet<>();
+        for (final WalkingkookaLanguageTag tag : this.tags()) {
+            languages.add(tag.language());
+            final String country = tag.country();
+            if (null != country && country.length() > 0) {
+                countries.add(country);
+            }
+        }
+
+        final LocaleFootprint footprint = this.footprint();
+        assertEquals(languages.size(), footprint.subtags().get(LocaleFootprint.LANGUAGE), LocaleFootprint.LANGUAGE);
+        assertEquals(countries.size(), footprint.subtags().get(LocaleFootprint.COUNTRY), LocaleFootprint.COUNTRY);
+    }
+
+    @Test
+    public void testDecodeWork() throws IOException {
+        final LocaleFootprint footprint = this.footprint();
+        final int work = footprint.decodeWork();
+        final int locales = footprint.locales().size();
+        assertTrue(work > locales, () -> "decodeWork " + work + " should exceed locales " + locales);
+    }
+
+    @Test
+    public void testCheckBudgetNegativeFails() {
+        assertThrows(IllegalArgumentException.class, () -> this.footprint().checkBudget(-1));
+    }
+
+    @Test
+    public void testCheckBudget() {
+        final LocaleFootprint footprint = this.footprint();
+        footprint.checkBudget(footprint.total());
+    }
+
+    @Test
+    public void testCheckBudgetExceededFails() {
+        final LocaleFootprint footprint = this.footprint();
+        assertThrows(IllegalStateException.class, () -> footprint.checkBudget(footprint.total() - 1));
+    }
+
+    @Test
+    public void testToJson() {
+        final LocaleFootprint footprint = this.footprint();
+        final String json = footprint.toJson();
+
+        final String prefix = "{\"chars\":" + footprint.chars() +
+                ",\"total\":" + footprint.total() +
+                ",\"decodeWork\":" + footprint.decodeWork() +
+                ",\"subtags\":{\"language\":" + footprint.subtags().get(LocaleFootprint.LANGUAGE) +
+                ",\"script\":" + footprint.subtags().get(LocaleFootprint.SCRIPT) +
+                ",\"country\":" + footprint.subtags().get(LocaleFootprint.COUNTRY) +
+                ",\"variant\":" + footprint.subtags().get(LocaleFootprint.VARIANT) +
+                "},\"subtagBytes\":{\"language\":" + footprint.subtagBytes().get(LocaleFootprint.LANGUAGE) +
+                ",\"script\":" + footprint.subtagBytes().get(LocaleFootprint.SCRIPT) +
+                ",\"country\":" + footprint.subtagBytes().get(LocaleFootprint.COUNTRY) +
+                ",\"variant\":" + footprint.subtagBytes().get(LocaleFootprint.VARIANT) +
+                "},\"locales\":{";
+        assertTrue(json.startsWith(prefix), () -> json);
+        assertTrue(json.contains("\"en-AU\":5"), () -> json);
+    }
+
+    /**
+     * Writes the report of the generated {@link LocaleProvider#DATA} to the file named by the pom and fails if the
+     * optional {@link LocaleFootprint#BUDGET_PROPERTY} is exceeded. Skipped when run outside maven without the report
+     * property, eg
+     * <pre>
+     * mvn test -Dlocale.data.budget=65536
+     * </pre>
+     */
+    @Test
+    public void testReportAndCheckBudget() throws IOException {
+        final LocaleFootprint footprint = this.footprint();
+        final String report = System.getProperty(REPORT);
+        assumeTrue(null != report, () -> "Missing system property " + REPORT);
+
+        final Path path = Paths.get(report);
+        Files.createDirectories(path.getParent());
+        Files.write(path, footprint.toJson().getBytes(StandardCharsets.UTF_8));
+
+        footprint.checkBudget();
+    }
+
+    private LocaleFootprint footprint() {
+        return LocaleFootprint.with(LocaleProvider.DATA);
+    }
+
+    private List<WalkingkookaLanguageTag> tags() throws IOException {
+        return WalkingkookaLanguageTag.decode(StringDataInputDataOutput.input(LocaleProvider.DATA));
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<LocaleFootprint> type() {
+        return LocaleFootprint.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale.support;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public final class LocaleJfrEventsTest implements ClassTesting2<LocaleJfrEvents> {
+
+    private final static String SCAN = "walkingkooka.locale.Scan";
+
+    private final static String CACHE_EVICTION = "walkingkooka.locale.CacheEviction";
+
+    /**
+     * A begin only creates an event when that event type is enabled, which depends on any active recordings.
+     */
+    @Test
+    public void testBeginOnlyWhenEnabled() {
+        final LocaleEvents events = LocaleEvents.instance();
+
+        this.beginAndCheck(events.decodeBegin(), LocaleJfrEvents.DECODE.isEnabled(), "decodeBegin");
+        this.beginAndCheck(events.scanBegin(), LocaleJfrEvents.SCAN.isEnabled(), "scanBegin");
+        this.beginAndCheck(events.defaultBegin(), LocaleJfrEvents.DEFAULT.isEnabled(), "defaultBegin");
+    }
+
+    private void beginAndCheck(final Object event,
+                               final boolean enabled,
+                               final String label) {
+        if (enabled) {
+            assertNotNull(event, label);
+        } else {
+            assertNull(event, label);
+        }
+    }
+
+    @Test
+    public void testScan() throws IOException {
+        try (final Recording recording = new Recording()) {
+            recording.enable(SCAN);
+            recording.start();
+
+            final LocaleEvents events = LocaleEvents.instance();
+            events.scanEnd(events.scanBegin(), "en-XX", 3, Locale.ENGLISH);
+
+            recording.stop();
+
+            final List<RecordedEvent> recorded = this.events(recording, SCAN);
+            assertEquals(1, recorded.size(), () -> "" + recorded);
+
+            final RecordedEvent event = recorded.get(0);
+            assertEquals("en-XX", event.getString("languageTag"), "languageTag");
+            assertEquals(3, event.getInt("visited"), "visited");
+            assertEquals("en", event.getString("result"), "result");
+        }
+    }
+
+    @Test
+    public void testCacheEviction() throws IOException {
+        try (final Recording recording = new Recording()) {
+            recording.enable(CACHE_EVICTION);
+            recording.start();
+
+            LocaleCache.with(Locale::toLanguageTag, 0)
+                    .get(Locale.forLanguageTag("xx-XX"));
+
+            recording.stop();
+
+            final List<RecordedEvent> recorded = this.events(recording, CACHE_EVICTION);
+            assertEquals(1, recorded.size(), () -> "" + recorded);
+
+            final RecordedEvent event = recorded.get(0);
+            assertEquals("LocaleCache", event.getString("cache"), "cache");
+            assertEquals(0, event.getInt("size"), "size");
+            assertEquals("xx_XX", event.getString("key"), "key");
+        }
+    }
+
+    private List<RecordedEvent> events(final Recording recording,
+                                       final String name) throws IOException {
+        final Path file = Files.createTempFile(this.getClass().getSimpleName(), ".jfr");
+        try {
+            recording.dump(file);
+
+            final List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            events.removeIf((e) -> false == name.equals(e.getEventType().getName()));
+            return events;
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<LocaleJfrEvents> type() {
+        return LocaleJfrEvents.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale.support;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class LocaleMatcherTest implements ClassTesting2<LocaleMatcher> {
+
+    @Test
+    public void testWithNullFails() {
+        assertThrows(NullPointerException.class, () -> LocaleMatcher.with(null));
+    }
+
+    @Test
+    public void testWithNullLocaleFails() {
+        assertThrows(NullPointerException.class, () -> LocaleMatcher.with(Arrays.asList(Locale.ENGLISH, null)));
+    }
+
+    @Test
+    public void testBestMatchNullFails() {
+        assertThrows(NullPointerException.class, () -> this.matcher().bestMatch(null));
+    }
+
+    @Test
+    public void testBestMatchExact() {
+        this.bestMatchAndCheck("fr-FR", "fr-FR");
+    }
+
+    @Test
+    public void testBestMatchLanguageOnly() {
+        this.bestMatchAndCheck("en", "en-US");
+    }
+
+    @Test
+    public void testBestMatchDifferentCountryFirstSupportedWins() {
+        this.bestMatchAndCheck("en-NZ", "en-US");
+    }
+
+    @Test
+    public void testBestMatchLikelyScript() {
+        this.bestMatchAndCheck("zh-TW", "zh-Hant");
+    }
+
+    @Test
+    public void testBestMatchLikelyScript2() {
+        this.bestMatchAndCheck("zh-CN", "zh");
+    }
+
+    @Test
+    public void testBestMatchSkipsUnsupportedLanguage() {
+        this.bestMatchAndCheck("de-DE,fr-CA", "fr-FR");
+    }
+
+    @Test
+    public void testBestMatchPrefersEarlierDesired() {
+        this.bestMatchAndCheck("fr-CA,en-AU", "fr-FR");
+    }
+
+    @Test
+    public void testBestMatchDifferentCountryBeatsLaterDesired() {
+        this.bestMatchAndCheck("en-GB,en-AU", "en-US");
+    }
+
+    @Test
+    public void testBestMatchDifferentScriptLosesToLaterDesired() {
+        assertEquals(Optional.of(Locale.ENGLISH),
+                LocaleMatcher.with(this.desired("sr,en"))
+                        .bestMatch(this.desired("sr-Latn,en")));
+    }
+
+    @Test
+    public void testBestMatchDifferentScriptOverMaxDistance() {
+        assertEquals(Optional.empty(),
+                LocaleMatcher.with(this.desired("sr"))
+                        .bestMatch(this.desired("sr-Latn")));
+    }
+
+    @Test
+    public void testBestMatchDemotedOverMaxDistance() {
+        final List<Locale> desired = new ArrayList<>();
+        for (int i = 0; i < LocaleMatcher.MAX_DISTANCE / LocaleMatcher.DESIRED_DEMOTION; i++) {
+            desired.add(Locale.forLanguageTag("de"));
+        }
+        desired.add(Locale.forLanguageTag("en-US"));
+
+        assertEquals(Optional.empty(),
+                this.matcher().bestMatch(desired));
+    }
+
+    @Test
+    public void testBestMatchNone() {
+        assertEquals(Optional.empty(),
+                this.matcher().bestMatch(this.desired("de,ja")));
+    }
+
+    @Test
+    public void testBestMatchEmpty() {
+        assertEquals(Optional.empty(),
+                this.matcher().bestMatch(new ArrayList<>()));
+    }
+
+    @Test
+    public void testBestMatchCached() {
+        final LocaleMatcher matcher = this.matcher();
+        final Optional<Locale> match = matcher.bestMatch(this.desired("en-NZ"));
+        assertSame(match, matcher.bestMatch(this.desired("en-NZ")));
+    }
+
+    @Test
+    public void testBestMatchCacheCopiesDesired() {
+        final LocaleMatcher matcher = this.matcher();
+        final List<Locale> desired = this.desired("en-NZ");
+        matcher.bestMatch(desired);
+
+        desired.set(0, Locale.forLanguageTag("fr"));
+        assertEquals(Optional.of(Locale.forLanguageTag("fr-FR")), matcher.bestMatch(desired));
+    }
+
+    private void bestMatchAndCheck(final String desired,
+                                   final String expected) {
+        assertEquals(Optional.of(Locale.forLanguageTag(expected)),
+                this.matcher().bestMatch(this.desired(desired)),
+                () -> "bestMatch " + desired);
+    }
+
+    private LocaleMatcher matcher() {
+        return LocaleMatcher.with(this.desired("en-US,en-AU,fr-FR,zh,zh-Hant"));
+    }
+
+    private List<Locale> desired(final String tags) {
+        final List<Locale> locales = new ArrayList<>();
+        for (final String tag : tags.split(",")) {
+            locales.add(Locale.forLanguageTag(tag));
+        }
+        return locales;
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<LocaleMatcher> type() {
+        return LocaleMatcher.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale.support;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class LocalePackedKeysTest implements ClassTesting2<LocalePackedKeys> {
+
+    @Test
+    public void testPackRoot() {
+        assertEquals(0L, LocalePackedKeys.pack(Locale.ROOT));
+    }
+
+    @Test
+    public void testPackCaseInsensitive() {
+        assertEquals(LocalePackedKeys.pack("en", "", "AU", ""),
+                LocalePackedKeys.pack("EN", "", "au", ""));
+    }
+
+    @Test
+    public void testPackLanguageCountry() {
+        this.packAndCheckDifferent("en-AU", "en-NZ");
+    }
+
+    @Test
+    public void testPackLanguageScriptCountry() {
+        this.packAndCheckDifferent("bs-Latn-BA", "bs-Cyrl-BA");
+    }
+
+    @Test
+    public void testPackLanguageAndLanguageCountry() {
+        this.packAndCheckDifferent("en", "en-AU");
+    }
+
+    @Test
+    public void testPackThreeLetterLanguage() {
+        this.packAndCheckDifferent("ast", "ast-ES");
+    }
+
+    @Test
+    public void testPackRegion() {
+        this.packAndCheckDifferent("ar-001", "es-419");
+    }
+
+    @Test
+    public void testPackRegionAndCountry() {
+        this.packAndCheckDifferent("es", "es-419");
+    }
+
+    @Test
+    public void testPackNotNegative() {
+        assertTrue(LocalePackedKeys.pack(Locale.forLanguageTag("zzz-Zzzz-ZZ")) >= 0);
+        assertTrue(LocalePackedKeys.pack(Locale.forLanguageTag("zzz-Zzzz-999")) >= 0);
+    }
+
+    @Test
+    public void testPackVariantNotPacked() {
+        assertEquals(LocalePackedKeys.NOT_PACKED, LocalePackedKeys.pack(Locale.forLanguageTag("ca-ES-VALENCIA")));
+    }
+
+    @Test
+    public void testPackLongLanguageNotPacked() {
+        assertEquals(LocalePackedKeys.NOT_PACKED, LocalePackedKeys.pack("abcde", "", "", ""));
+    }
+
+    @Test
+    public void testPackInvalidCountryNotPacked() {
+        assertEquals(LocalePackedKeys.NOT_PACKED, LocalePackedKeys.pack("en", "", "1A", ""));
+    }
+
+    @Test
+    public void testPackAvailableLocales() {
+        for (final Locale locale : Locale.getAvailableLocales()) {
+            if (locale.getVariant().isEmpty() && locale.getLanguage().length() <= 3) {
+                assertNotEquals(LocalePackedKeys.NOT_PACKED, LocalePackedKeys.pack(locale), () -> "pack " + locale);
+            }
+        }
+    }
+
+    @Test
+    public void testPackAvailableLocalesUnique() {
+        final Map<Long, Locale> packed = new HashMap<>();
+
+        for (final Locale locale : Locale.getAvailableLocales()) {
+            final long key = LocalePackedKeys.pack(locale);
+            if (LocalePackedKeys.NOT_PACKED != key) {
+                final Locale previous = packed.put(key, locale);
+                assertNull(previous, () -> "duplicate packed key " + previous + " " + locale);
+            }
+        }
+    }
+
+    private void packAndCheckDifferent(final String tag,
+                                       final String tag2) {
+        final long packed = LocalePackedKeys.pack(Locale.forLanguageTag(tag));
+        final long packed2 = LocalePackedKeys.pack(Locale.forLanguageTag(tag2));
+
+        assertNotEquals(LocalePackedKeys.NOT_PACKED, packed, tag);
+        assertNotEquals(LocalePackedKeys.NOT_PACKED, packed2, tag2);
+        assertNotEquals(packed, packed2, () -> tag + " " + tag2);
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<LocalePackedKeys> type() {
+        return LocalePackedKeys.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale.support;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class LocalePackedMapTest implements ClassTesting2<LocalePackedMap<String>> {
+
+    @Test
+    public void testPutNullLocaleFails() {
+        assertThrows(NullPointerException.class, () -> LocalePackedMap.empty().put(null, "value"));
+    }
+
+    @Test
+    public void testPutNullValueFails() {
+        assertThrows(NullPointerException.class, () -> LocalePackedMap.empty().put(Locale.ENGLISH, null));
+    }
+
+    @Test
+    public void testGetMissing() {
+        assertNull(LocalePackedMap.empty().get(Locale.ENGLISH));
+    }
+
+    @Test
+    public void testPutGet() {
+        final LocalePackedMap<String> map = LocalePackedMap.empty();
+        final Locale locale = Locale.forLanguageTag("en-AU");
+
+        assertNull(map.put(locale, "1"));
+        assertEquals("1", map.get(locale));
+        assertEquals("1", map.get(Locale.forLanguageTag("EN-au")));
+        assertEquals("1", map.get(LocalePackedKeys.pack(locale)));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testPutPackedNotPackedFails() {
+        assertThrows(IllegalArgumentException.class, () -> LocalePackedMap.empty().put(LocalePackedKeys.NOT_PACKED, "value"));
+    }
+
+    @Test
+    public void testPutPackedNullValueFails() {
+        assertThrows(NullPointerException.class, () -> LocalePackedMap.empty().put(LocalePackedKeys.pack(Locale.ENGLISH), null));
+    }
+
+    @Test
+    public void testPutPackedGet() {
+        final LocalePackedMap<String> map = LocalePackedMap.empty();
+        final Locale locale = Locale.forLanguageTag("en-AU");
+
+        assertNull(map.put(LocalePackedKeys.pack(locale), "1"));
+        assertEquals("1", map.get(locale));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testPutReplace() {
+        final LocalePackedMap<String> map = LocalePackedMap.empty();
+        final Locale locale = Locale.forLanguageTag("en-AU");
+
+        map.put(locale, "1");
+        assertEquals("1", map.put(locale, "2"));
+        assertEquals("2", map.get(locale));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testPutGetNotPacked() {
+        final LocalePackedMap<String> map = LocalePackedMap.empty();
+        final Locale locale = Locale.forLanguageTag("ca-ES-VALENCIA");
+
+        assertNull(map.put(locale, "1"));
+        assertEquals("1", map.get(locale));
+        assertNull(map.get(Locale.forLanguageTag("ca-ES")));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testRemove() {
+        final LocalePackedMap<String> map = LocalePackedMap.empty();
+        final Locale locale = Locale.forLanguageTag("en-AU");
+
+        map.put(locale, "1");
+        assertEquals("1", map.remove(locale));
+        assertNull(map.get(locale));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void testRemoveNotPacked() {
+        final LocalePackedMap<String> map = LocalePackedMap.empty();
+        final Locale locale = Locale.forLanguageTag("ca-ES-VALENCIA");
+
+        map.put(locale, "1");
+        assertEquals("1", map.remove(locale));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void testPutGetRemoveAvailableLocales() {
+        final LocalePackedMap<String> map = LocalePackedMap.empty();
+
+        // skip locales sharing a packed key, which would also share an entry
+        final Set<Long> packed = Sets.hash();
+        final List<Locale> locales = Lists.array();
+        for (final Locale locale : Locale.getAvailableLocales()) {
+            final long key = LocalePackedKeys.pack(locale);
+            if (LocalePackedKeys.NOT_PACKED == key || packed.add(key)) {
+                locales.add(locale);
+                map.put(locale, locale.toLanguageTag());
+            }
+        }
+
+        for (final Locale locale : locales) {
+            assertEquals(locale.toLanguageTag(), map.get(locale), () -> "get " + locale);
+        }
+
+        // remove every second locale, checking the remaining survive the backward shift.
+        for (int i = 0; i < locales.size(); i += 2) {
+            map.remove(locales.get(i));
+        }
+        for (int i = 1; i < locales.size(); i += 2) {
+            final Locale locale = locales.get(i);
+            assertEquals(locale.toLanguageTag(), map.get(locale), () -> "get after remove " + locale);
+        }
+    }
+
+    @Test
+    public void testClear() {
+        final LocalePackedMap<String> map = LocalePackedMap.empty();
+        map.put(Locale.ENGLISH, "1");
+        map.put(Locale.forLanguageTag("ca-ES-VALENCIA"), "2");
+
+        map.clear();
+        assertEquals(0, map.size());
+        assertNull(map.get(Locale.ENGLISH));
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<LocalePackedMap<String>> type() {
+        return Cast.to(LocalePackedMap.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
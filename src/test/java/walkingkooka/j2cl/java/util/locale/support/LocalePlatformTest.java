@@ -0,0 +1,67 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package walkingkooka.j2cl.java.util.locale.support;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public final class LocalePlatformTest implements ClassTesting2<LocalePlatform> {
+
+    @Test
+    public void testEventsJvm() {
+        assertEquals(LocaleJfrEvents.class, LocalePlatform.events.getClass());
+    }
+
+    @Test
+    public void testScopeThreadLocalJvm() {
+        LocaleDefaults.runWithDefault(Locale.FRANCE, () -> {
+            final AtomicReference<Object> other = new AtomicReference<>(this);
+            final Thread thread = new Thread(() -> other.set(LocalePlatform.scopeGetter.get()));
+            thread.start();
+            try {
+                thread.join();
+            } catch (final InterruptedException cause) {
+                throw new RuntimeException(cause);
+            }
+
+            assertSame(Locale.FRANCE, LocalePlatform.scopeGetter.get().locale, "current thread");
+            assertNull(other.get(), "other thread");
+        });
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<LocalePlatform> type() {
+        return LocalePlatform.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale.support;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public final class LocalePrewarmTest implements ClassTesting2<LocalePrewarm> {
+
+    @Test
+    public void testPrewarmScheduledOnce() {
+        final List<Runnable> tasks = new ArrayList<>();
+
+        final Consumer<Runnable> scheduler = LocalePlatform.scheduler;
+        final boolean scheduled = LocalePrewarm.scheduled;
+        try {
+            LocalePlatform.scheduler = tasks::add;
+            LocalePrewarm.scheduled = false;
+
+            LocalePrewarm.prewarm();
+            LocalePrewarm.prewarm();
+            assertEquals(1, tasks.size(), "scheduled");
+
+            tasks.get(0).run();
+        } finally {
+            LocalePlatform.scheduler = scheduler;
+            LocalePrewarm.scheduled = scheduled;
+        }
+    }
+
+    @Test
+    public void testPrewarmThenGetAvailableLocales() {
+        LocalePrewarm.prewarm();
+        assertArrayEquals(Locale.getAvailableLocales(), Locale.getAvailableLocales());
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<LocalePrewarm> type() {
+        return LocalePrewarm.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
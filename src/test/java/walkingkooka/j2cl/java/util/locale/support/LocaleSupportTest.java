@@ -27,15 +27,19 @@ import walkingkooka.text.Indentation;
 import walkingkooka.text.LineEnding;
 import walkingkooka.text.printer.Printers;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
 import java.io.DataOutput;
 import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 
 public final class LocaleSupportTest implements ClassTesting2<LocaleSupport> {
@@ -169,6 +173,117 @@ public final class LocaleSupportTest implements ClassTesting2<LocaleSupport> {
                 () -> "alternative for " + CharSequences.quoteIfChars(locale.toString()));
     }
 
+    // tryForLanguageTag................................................................................................
+
+    @Test
+    public void testTryForLanguageTagNullFails() {
+        assertThrows(NullPointerException.class, () -> LocaleSupport.tryForLanguageTag(null));
+    }
+
+    @Test
+    public void testTryForLanguageTagEmpty() {
+        assertEquals(Optional.of(Locale.ROOT), LocaleSupport.tryForLanguageTag(""));
+    }
+
+    @Test
+    public void testTryForLanguageTag() {
+        assertEquals(Optional.of(Locale.forLanguageTag("en-AU")), LocaleSupport.tryForLanguageTag("en-AU"));
+    }
+
+    @Test
+    public void testTryForLanguageTagNotCanonicalForm() {
+        assertEquals(Optional.of(Locale.forLanguageTag("en-AU")), LocaleSupport.tryForLanguageTag("EN-au"));
+    }
+
+    @Test
+    public void testTryForLanguageTagNotAvailable() {
+        assertEquals(Optional.of(Locale.forLanguageTag("xx-Latn")), LocaleSupport.tryForLanguageTag("xx-Latn"));
+    }
+
+    @Test
+    public void testTryForLanguageTagMalformed() {
+        for (final String tag : new String[]{"-", "en--AU", "en_AU!", "abcdefghi", "en-AU-"}) {
+            assertEquals(Optional.empty(), LocaleSupport.tryForLanguageTag(tag), () -> "tryForLanguageTag " + tag);
+        }
+    }
+
+    @Test
+    public void testTryForLanguageTagAvailableLocales() {
+        for (final Locale locale : Locale.getAvailableLocales()) {
+            final String tag = locale.toLanguageTag();
+            assertEquals(Optional.of(Locale.forLanguageTag(tag)), LocaleSupport.tryForLanguageTag(tag), () -> "tryForLanguageTag " + tag);
+        }
+    }
+
+    // isLanguageTag....................................................................................................
+
+    @Test
+    public void testIsLanguageTagNullFails() {
+        assertThrows(NullPointerException.class, () -> LocaleSupport.isLanguageTag(null));
+    }
+
+    @Test
+    public void testIsLanguageTag() {
+        for (final String tag : new String[]{"en", "en-AU", "sr-Latn-RS", "es-419", "ca-ES-valencia", "x-private", "zh-Hant-TW-u-ca-chinese"}) {
+            this.isLanguageTagAndCheck(tag, true);
+        }
+    }
+
+    @Test
+    public void testIsLanguageTagMalformed() {
+        for (final String tag : new String[]{"", "-", "en-", "-en", "en--AU", "en_AU", "1en", "en-AU!", "abcdefghi", "en-abcdefghi"}) {
+            this.isLanguageTagAndCheck(tag, false);
+        }
+    }
+
+    @Test
+    public void testIsLanguageTagAvailableLocales() {
+        for (final Locale locale : Locale.getAvailableLocales()) {
+            this.isLanguageTagAndCheck(locale.toLanguageTag(), true);
+        }
+    }
+
+    private void isLanguageTagAndCheck(final String text,
+                                       final boolean expected) {
+        assertEquals(expected,
+                LocaleSupport.isLanguageTag(text),
+                () -> "isLanguageTag " + CharSequences.quoteAndEscape(text));
+    }
+
+    // varint...........................................................................................................
+
+    @Test
+    public void testWriteVarintNegativeFails() {
+        assertThrows(IllegalArgumentException.class, () -> LocaleSupport.writeVarint(-1, StringDataInputDataOutput.output(new StringBuilder()::append)));
+    }
+
+    @Test
+    public void testWriteReadVarint() throws Exception {
+        this.writeReadVarintAndCheck(0, 1);
+        this.writeReadVarintAndCheck(127, 1);
+        this.writeReadVarintAndCheck(128, 2);
+        this.writeReadVarintAndCheck(16383, 2);
+        this.writeReadVarintAndCheck(16384, 3);
+        this.writeReadVarintAndCheck(Integer.MAX_VALUE, 5);
+    }
+
+    private void writeReadVarintAndCheck(final int value,
+                                         final int byteCount) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        LocaleSupport.writeVarint(value, new DataOutputStream(bytes));
+
+        assertEquals(byteCount, bytes.size(), () -> "bytes " + value);
+        assertEquals(value,
+                LocaleSupport.readVarint(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))),
+                () -> "read " + value);
+    }
+
+    @Test
+    public void testReadVarintTooLongFails() {
+        final byte[] bytes = new byte[]{(byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0};
+        assertThrows(IOException.class, () -> LocaleSupport.readVarint(new DataInputStream(new ByteArrayInputStream(bytes))));
+    }
+
     // ClassTesting.....................................................................................................
 
     @Override
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale.support;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.predicate.Predicates;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class MultiLocaleValueIndexTest implements ClassTesting2<MultiLocaleValueIndex<String>> {
+
+    @Test
+    public void testWithNullFails() {
+        assertThrows(NullPointerException.class, () -> MultiLocaleValueIndex.with(null));
+    }
+
+    @Test
+    public void testFindValue() {
+        this.findValueAndCheck("en-AU", "AU");
+    }
+
+    @Test
+    public void testFindValueFirstWins() {
+        this.findValueAndCheck("en-NZ", "AU-NZ");
+    }
+
+    @Test
+    public void testFindValueAlternative() {
+        this.findValueAndCheck("iw-IL", "HE");
+    }
+
+    @Test
+    public void testFindValueNorwayIgnored() {
+        this.findValueAndCheck(Locale.forLanguageTag("nn-NO"), "ALWAYS");
+    }
+
+    @Test
+    public void testFindValueNorwayIncluded() {
+        final List<MultiLocaleValue<String>> multi = Lists.of(
+                MultiLocaleValue.with("NORWAY", Sets.of(Locale.forLanguageTag("nn-NO")), LocaleSupport.INCLUDE_NORWAY)
+        );
+        final Locale noNoNy = new Locale("no", "NO", "NY");
+
+        assertEquals(MultiLocaleValue.findValue(multi, noNoNy),
+                MultiLocaleValueIndex.with(multi).findValue(noNoNy));
+    }
+
+    @Test
+    public void testFindValuePredicateFallback() {
+        this.findValueAndCheck("fr-FR", "ALWAYS");
+    }
+
+    @Test
+    public void testFindValueAfterPredicateNotIndexed() {
+        final List<MultiLocaleValue<String>> multi = Lists.of(
+                MultiLocaleValue.with("ALWAYS", Predicates.always(), LocaleSupport.IGNORE_NORWAY),
+                MultiLocaleValue.with("NEVER", Sets.of(Locale.forLanguageTag("en-AU")), LocaleSupport.IGNORE_NORWAY)
+        );
+
+        assertEquals("ALWAYS", MultiLocaleValueIndex.with(multi).findValue(Locale.forLanguageTag("en-AU")));
+    }
+
+    @Test
+    public void testFindValueMissingFails() {
+        final List<MultiLocaleValue<String>> multi = Lists.of(
+                MultiLocaleValue.with("AU", Sets.of(Locale.forLanguageTag("en-AU")), LocaleSupport.IGNORE_NORWAY)
+        );
+
+        assertThrows(IllegalStateException.class, () -> MultiLocaleValueIndex.with(multi).findValue(Locale.ROOT));
+    }
+
+    @Test
+    public void testFindValueSameAsMultiLocaleValue() {
+        final List<MultiLocaleValue<String>> multi = this.multi();
+        final MultiLocaleValueIndex<String> index = MultiLocaleValueIndex.with(multi);
+
+        for (final Locale locale : Locale.getAvailableLocales()) {
+            assertEquals(MultiLocaleValue.findValue(multi, locale),
+                    index.findValue(locale),
+                    () -> "findValue " + locale);
+        }
+    }
+
+    private void findValueAndCheck(final String locale,
+                                   final String expected) {
+        this.findValueAndCheck(Locale.forLanguageTag(locale), expected);
+    }
+
+    private void findValueAndCheck(final Locale locale,
+                                   final String expected) {
+        final List<MultiLocaleValue<String>> multi = this.multi();
+
+        assertEquals(expected,
+                MultiLocaleValue.findValue(multi, locale),
+                () -> "MultiLocaleValue.findValue " + locale);
+        assertEquals(expected,
+                MultiLocaleValueIndex.with(multi).findValue(locale),
+                () -> "findValue " + locale);
+    }
+
+    private List<MultiLocaleValue<String>> multi() {
+        return Lists.of(
+                MultiLocaleValue.with("AU", Sets.of(Locale.forLanguageTag("en-AU")), LocaleSupport.IGNORE_NORWAY),
+                MultiLocaleValue.with("AU-NZ", Sets.of(Locale.forLanguageTag("en-AU"), Locale.forLanguageTag("en-NZ")), LocaleSupport.IGNORE_NORWAY),
+                MultiLocaleValue.with("HE", Sets.of(Locale.forLanguageTag("he-IL")), LocaleSupport.IGNORE_NORWAY),
+                MultiLocaleValue.with("ALWAYS", Predicates.always(), LocaleSupport.IGNORE_NORWAY)
+        );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<MultiLocaleValueIndex<String>> type() {
+        return Cast.to(MultiLocaleValueIndex.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
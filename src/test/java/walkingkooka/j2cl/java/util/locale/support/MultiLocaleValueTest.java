@@ -20,6 +20,7 @@ package walkingkooka.j2cl.java.util.locale.support;
 import org.junit.jupiter.api.Test;
 import walkingkooka.Cast;
 import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.set.Sets;
 import walkingkooka.predicate.PredicateTesting2;
 import walkingkooka.predicate.Predicates;
 import walkingkooka.reflect.ClassTesting2;
@@ -27,6 +28,7 @@ import walkingkooka.reflect.JavaVisibility;
 
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
 import java.util.function.Predicate;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -68,6 +70,37 @@ public final class MultiLocaleValueTest implements ClassTesting2<MultiLocaleValu
         this.testFalse(Locale.ROOT);
     }
 
+    @Test
+    public void testWithSetTrue() {
+        this.testTrue(MultiLocaleValue.with(VALUE, Sets.of(this.locale()), LocaleSupport.IGNORE_NORWAY),
+                this.locale());
+    }
+
+    @Test
+    public void testWithSetTrueAlternative() {
+        this.testTrue(MultiLocaleValue.with(VALUE, Sets.of(Locale.forLanguageTag("he-IL")), LocaleSupport.IGNORE_NORWAY),
+                Locale.forLanguageTag("iw-IL"));
+    }
+
+    @Test
+    public void testWithSetFalse() {
+        this.testFalse(MultiLocaleValue.with(VALUE, Sets.of(this.locale()), LocaleSupport.IGNORE_NORWAY),
+                Locale.ROOT);
+    }
+
+    @Test
+    public void testWithSetCopied() {
+        final Set<Locale> locales = Sets.hash();
+        locales.add(this.locale());
+
+        final MultiLocaleValue<String> value = MultiLocaleValue.with(VALUE, locales, LocaleSupport.IGNORE_NORWAY);
+        locales.clear();
+        locales.add(Locale.ROOT);
+
+        this.testTrue(value, this.locale());
+        this.testFalse(value, Locale.ROOT);
+    }
+
     @Test
     public void testFindValue() {
         final Locale locale = Locale.ENGLISH;